@@ -0,0 +1,149 @@
+package com.mpdb.bench;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * TPC-H-like analytic workload: a subset of the TPC-H queries (Q1, Q3, Q5, Q6, Q10, Q14)
+ * with parameters drawn from the TPC-H substitution domains.
+ * The scale factor sizes the customer key range used by the customer-report query.
+ */
+public class OlapWorkload implements Workload {
+
+    private static final String[] SEGMENTS = {"AUTOMOBILE", "BUILDING", "FURNITURE", "HOUSEHOLD", "MACHINERY"};
+    private static final String[] REGIONS = {"AFRICA", "AMERICA", "ASIA", "EUROPE", "MIDDLE EAST"};
+    private static final int CUSTOMERS_PER_SCALE_FACTOR = 150_000;
+
+    private final int scaleFactor;
+
+    public OlapWorkload(int scaleFactor) {
+        this.scaleFactor = scaleFactor;
+    }
+
+    @Override
+    public String name() {
+        return "olap";
+    }
+
+    @Override
+    public Transaction next(Random random) {
+        return switch (random.nextInt(6)) {
+            case 0 -> q1(random);
+            case 1 -> q3(random);
+            case 2 -> q5(random);
+            case 3 -> q6(random);
+            case 4 -> q10(random);
+            default -> q14(random);
+        };
+    }
+
+    /** Pricing summary report. */
+    private Transaction q1(Random random) {
+        int delta = 60 + random.nextInt(61);
+        return query("q1",
+                "SELECT l_returnflag, l_linestatus, SUM(l_quantity) AS sum_qty, " +
+                "SUM(l_extendedprice) AS sum_base_price, " +
+                "SUM(l_extendedprice * (1 - l_discount)) AS sum_disc_price, " +
+                "SUM(l_extendedprice * (1 - l_discount) * (1 + l_tax)) AS sum_charge, " +
+                "AVG(l_quantity) AS avg_qty, AVG(l_extendedprice) AS avg_price, " +
+                "AVG(l_discount) AS avg_disc, COUNT(*) AS count_order " +
+                "FROM lineitem " +
+                "WHERE l_shipdate <= DATE '1998-12-01' - INTERVAL '" + delta + "' DAY " +
+                "GROUP BY l_returnflag, l_linestatus " +
+                "ORDER BY l_returnflag, l_linestatus");
+    }
+
+    /** Shipping priority. */
+    private Transaction q3(Random random) {
+        String date = date(LocalDate.of(1995, 3, 1), 31, random);
+        return query("q3",
+                "SELECT l_orderkey, SUM(l_extendedprice * (1 - l_discount)) AS revenue, " +
+                "o_orderdate, o_shippriority " +
+                "FROM customer, orders, lineitem " +
+                "WHERE c_mktsegment = '" + pick(SEGMENTS, random) + "' " +
+                "AND c_custkey = o_custkey AND l_orderkey = o_orderkey " +
+                "AND o_orderdate < DATE '" + date + "' AND l_shipdate > DATE '" + date + "' " +
+                "GROUP BY l_orderkey, o_orderdate, o_shippriority " +
+                "ORDER BY revenue DESC, o_orderdate " +
+                "LIMIT 10");
+    }
+
+    /** Local supplier volume. */
+    private Transaction q5(Random random) {
+        int year = 1993 + random.nextInt(5);
+        return query("q5",
+                "SELECT n_name, SUM(l_extendedprice * (1 - l_discount)) AS revenue " +
+                "FROM customer, orders, lineitem, supplier, nation, region " +
+                "WHERE c_custkey = o_custkey AND l_orderkey = o_orderkey AND l_suppkey = s_suppkey " +
+                "AND c_nationkey = s_nationkey AND s_nationkey = n_nationkey " +
+                "AND n_regionkey = r_regionkey AND r_name = '" + pick(REGIONS, random) + "' " +
+                "AND o_orderdate >= DATE '" + year + "-01-01' " +
+                "AND o_orderdate < DATE '" + year + "-01-01' + INTERVAL '1' YEAR " +
+                "GROUP BY n_name " +
+                "ORDER BY revenue DESC");
+    }
+
+    /** Forecasting revenue change. */
+    private Transaction q6(Random random) {
+        int year = 1993 + random.nextInt(5);
+        double discount = (2 + random.nextInt(8)) / 100.0;
+        int quantity = 24 + random.nextInt(2);
+        return query("q6",
+                "SELECT SUM(l_extendedprice * l_discount) AS revenue " +
+                "FROM lineitem " +
+                "WHERE l_shipdate >= DATE '" + year + "-01-01' " +
+                "AND l_shipdate < DATE '" + year + "-01-01' + INTERVAL '1' YEAR " +
+                "AND l_discount BETWEEN " + format(discount - 0.01) + " AND " + format(discount + 0.01) + " " +
+                "AND l_quantity < " + quantity);
+    }
+
+    /** Returned item reporting, restricted to a customer key range. */
+    private Transaction q10(Random random) {
+        String date = date(LocalDate.of(1993, 2, 1), 730, random);
+        int customers = CUSTOMERS_PER_SCALE_FACTOR * scaleFactor;
+        int from = 1 + random.nextInt(customers);
+        return query("q10",
+                "SELECT c_custkey, c_name, SUM(l_extendedprice * (1 - l_discount)) AS revenue, " +
+                "c_acctbal, n_name, c_address, c_phone, c_comment " +
+                "FROM customer, orders, lineitem, nation " +
+                "WHERE c_custkey = o_custkey AND l_orderkey = o_orderkey " +
+                "AND c_custkey BETWEEN " + from + " AND " + (from + 10_000) + " " +
+                "AND o_orderdate >= DATE '" + date + "' " +
+                "AND o_orderdate < DATE '" + date + "' + INTERVAL '3' MONTH " +
+                "AND l_returnflag = 'R' AND c_nationkey = n_nationkey " +
+                "GROUP BY c_custkey, c_name, c_acctbal, c_phone, n_name, c_address, c_comment " +
+                "ORDER BY revenue DESC " +
+                "LIMIT 20");
+    }
+
+    /** Promotion effect. */
+    private Transaction q14(Random random) {
+        String date = date(LocalDate.of(1993, 1, 1), 1825, random).substring(0, 8) + "01";
+        return query("q14",
+                "SELECT 100.00 * SUM(CASE WHEN p_type LIKE 'PROMO%' " +
+                "THEN l_extendedprice * (1 - l_discount) ELSE 0 END) " +
+                "/ SUM(l_extendedprice * (1 - l_discount)) AS promo_revenue " +
+                "FROM lineitem, part " +
+                "WHERE l_partkey = p_partkey " +
+                "AND l_shipdate >= DATE '" + date + "' " +
+                "AND l_shipdate < DATE '" + date + "' + INTERVAL '1' MONTH");
+    }
+
+    private static Transaction query(String type, String sql) {
+        return new Transaction(type, List.of(sql));
+    }
+
+    private static String pick(String[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String date(LocalDate start, int days, Random random) {
+        return start.plusDays(random.nextInt(days)).toString();
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+}
@@ -0,0 +1,157 @@
+package com.mpdb.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * TPC-C-like OLTP workload: the five TPC-C transaction profiles in the standard mix
+ * (New-Order 45%, Payment 43%, Order-Status 4%, Delivery 4%, Stock-Level 4%).
+ * The scale factor is the number of warehouses.
+ */
+public class OltpWorkload implements Workload {
+
+    private static final int DISTRICTS_PER_WAREHOUSE = 10;
+    private static final int CUSTOMERS_PER_DISTRICT = 3000;
+    private static final int ITEMS = 100_000;
+    private static final int ORDERS_PER_DISTRICT = 3000;
+
+    private final int warehouses;
+
+    public OltpWorkload(int warehouses) {
+        this.warehouses = warehouses;
+    }
+
+    @Override
+    public String name() {
+        return "oltp";
+    }
+
+    @Override
+    public Transaction next(Random random) {
+        int roll = random.nextInt(100);
+        if (roll < 45) {
+            return newOrder(random);
+        } else if (roll < 88) {
+            return payment(random);
+        } else if (roll < 92) {
+            return orderStatus(random);
+        } else if (roll < 96) {
+            return delivery(random);
+        }
+        return stockLevel(random);
+    }
+
+    private Transaction newOrder(Random random) {
+        int w = warehouse(random);
+        int d = district(random);
+        int c = customer(random);
+        int lines = 5 + random.nextInt(11);
+        int orderId = ORDERS_PER_DISTRICT + random.nextInt(1_000_000);
+
+        List<String> statements = new ArrayList<>();
+        statements.add("SELECT c_discount, c_last, c_credit, w_tax FROM customer, warehouse " +
+                       "WHERE w_id = " + w + " AND c_w_id = w_id AND c_d_id = " + d + " AND c_id = " + c);
+        statements.add("SELECT d_next_o_id, d_tax FROM district WHERE d_id = " + d + " AND d_w_id = " + w);
+        statements.add("UPDATE district SET d_next_o_id = d_next_o_id + 1 WHERE d_id = " + d + " AND d_w_id = " + w);
+        statements.add("INSERT INTO orders (o_id, o_d_id, o_w_id, o_c_id, o_entry_d, o_ol_cnt, o_all_local) " +
+                       "VALUES (" + orderId + ", " + d + ", " + w + ", " + c + ", CURRENT_TIMESTAMP, " + lines + ", 1)");
+        statements.add("INSERT INTO new_order (no_o_id, no_d_id, no_w_id) VALUES (" + orderId + ", " + d + ", " + w + ")");
+        for (int line = 1; line <= lines; line++) {
+            int item = 1 + random.nextInt(ITEMS);
+            int quantity = 1 + random.nextInt(10);
+            statements.add("SELECT i_price, i_name, i_data FROM item WHERE i_id = " + item);
+            statements.add("SELECT s_quantity, s_data, s_dist_" + String.format(Locale.ROOT, "%02d", d) + " FROM stock " +
+                           "WHERE s_i_id = " + item + " AND s_w_id = " + w);
+            statements.add("UPDATE stock SET s_quantity = s_quantity - " + quantity + ", s_ytd = s_ytd + " + quantity +
+                           ", s_order_cnt = s_order_cnt + 1 WHERE s_i_id = " + item + " AND s_w_id = " + w);
+            statements.add("INSERT INTO order_line (ol_o_id, ol_d_id, ol_w_id, ol_number, ol_i_id, ol_supply_w_id, " +
+                           "ol_quantity, ol_amount, ol_dist_info) VALUES (" + orderId + ", " + d + ", " + w + ", " + line +
+                           ", " + item + ", " + w + ", " + quantity + ", " + (quantity * 10.5) + ", 'dist-info')");
+        }
+        return new Transaction("new-order", statements);
+    }
+
+    private Transaction payment(Random random) {
+        int w = warehouse(random);
+        int d = district(random);
+        int c = customer(random);
+        String amount = String.format(Locale.ROOT, "%.2f", 1 + random.nextDouble() * 4999);
+
+        return new Transaction("payment", List.of(
+                "UPDATE warehouse SET w_ytd = w_ytd + " + amount + " WHERE w_id = " + w,
+                "SELECT w_street_1, w_street_2, w_city, w_state, w_zip, w_name FROM warehouse WHERE w_id = " + w,
+                "UPDATE district SET d_ytd = d_ytd + " + amount + " WHERE d_w_id = " + w + " AND d_id = " + d,
+                "SELECT d_street_1, d_street_2, d_city, d_state, d_zip, d_name FROM district " +
+                "WHERE d_w_id = " + w + " AND d_id = " + d,
+                "SELECT c_first, c_middle, c_last, c_credit, c_credit_lim, c_discount, c_balance FROM customer " +
+                "WHERE c_w_id = " + w + " AND c_d_id = " + d + " AND c_id = " + c,
+                "UPDATE customer SET c_balance = c_balance - " + amount + ", c_ytd_payment = c_ytd_payment + " + amount +
+                ", c_payment_cnt = c_payment_cnt + 1 WHERE c_w_id = " + w + " AND c_d_id = " + d + " AND c_id = " + c,
+                "INSERT INTO history (h_c_d_id, h_c_w_id, h_c_id, h_d_id, h_w_id, h_date, h_amount, h_data) " +
+                "VALUES (" + d + ", " + w + ", " + c + ", " + d + ", " + w + ", CURRENT_TIMESTAMP, " + amount + ", 'payment')"
+        ));
+    }
+
+    private Transaction orderStatus(Random random) {
+        int w = warehouse(random);
+        int d = district(random);
+        int c = customer(random);
+
+        return new Transaction("order-status", List.of(
+                "SELECT c_balance, c_first, c_middle, c_last FROM customer " +
+                "WHERE c_w_id = " + w + " AND c_d_id = " + d + " AND c_id = " + c,
+                "SELECT o_id, o_carrier_id, o_entry_d FROM orders " +
+                "WHERE o_w_id = " + w + " AND o_d_id = " + d + " AND o_c_id = " + c + " ORDER BY o_id DESC LIMIT 1",
+                "SELECT ol_i_id, ol_supply_w_id, ol_quantity, ol_amount, ol_delivery_d FROM order_line " +
+                "WHERE ol_w_id = " + w + " AND ol_d_id = " + d + " AND ol_o_id = " + random.nextInt(ORDERS_PER_DISTRICT)
+        ));
+    }
+
+    private Transaction delivery(Random random) {
+        int w = warehouse(random);
+        int carrier = 1 + random.nextInt(10);
+
+        List<String> statements = new ArrayList<>();
+        for (int d = 1; d <= DISTRICTS_PER_WAREHOUSE; d++) {
+            int orderId = random.nextInt(ORDERS_PER_DISTRICT);
+            statements.add("SELECT MIN(no_o_id) FROM new_order WHERE no_d_id = " + d + " AND no_w_id = " + w);
+            statements.add("DELETE FROM new_order WHERE no_o_id = " + orderId + " AND no_d_id = " + d + " AND no_w_id = " + w);
+            statements.add("UPDATE orders SET o_carrier_id = " + carrier +
+                           " WHERE o_id = " + orderId + " AND o_d_id = " + d + " AND o_w_id = " + w);
+            statements.add("UPDATE order_line SET ol_delivery_d = CURRENT_TIMESTAMP " +
+                           "WHERE ol_o_id = " + orderId + " AND ol_d_id = " + d + " AND ol_w_id = " + w);
+            statements.add("UPDATE customer SET c_balance = c_balance + (SELECT SUM(ol_amount) FROM order_line " +
+                           "WHERE ol_o_id = " + orderId + " AND ol_d_id = " + d + " AND ol_w_id = " + w + "), " +
+                           "c_delivery_cnt = c_delivery_cnt + 1 WHERE c_id = " + customer(random) +
+                           " AND c_d_id = " + d + " AND c_w_id = " + w);
+        }
+        return new Transaction("delivery", statements);
+    }
+
+    private Transaction stockLevel(Random random) {
+        int w = warehouse(random);
+        int d = district(random);
+        int threshold = 10 + random.nextInt(11);
+
+        return new Transaction("stock-level", List.of(
+                "SELECT d_next_o_id FROM district WHERE d_w_id = " + w + " AND d_id = " + d,
+                "SELECT COUNT(DISTINCT s_i_id) FROM order_line, stock " +
+                "WHERE ol_w_id = " + w + " AND ol_d_id = " + d + " AND ol_o_id >= " + random.nextInt(ORDERS_PER_DISTRICT) +
+                " AND s_w_id = " + w + " AND s_i_id = ol_i_id AND s_quantity < " + threshold
+        ));
+    }
+
+    private int warehouse(Random random) {
+        return 1 + random.nextInt(warehouses);
+    }
+
+    private int district(Random random) {
+        return 1 + random.nextInt(DISTRICTS_PER_WAREHOUSE);
+    }
+
+    private int customer(Random random) {
+        return 1 + random.nextInt(CUSTOMERS_PER_DISTRICT);
+    }
+}
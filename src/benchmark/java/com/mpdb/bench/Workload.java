@@ -0,0 +1,32 @@
+package com.mpdb.bench;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A benchmark workload that generates transactions of SQL statements.
+ */
+public interface Workload {
+
+    /**
+     * Workload name used in the report (e.g. "oltp").
+     */
+    String name();
+
+    /**
+     * Generate the next transaction for a client.
+     *
+     * @param random per-client random source
+     * @return the transaction to run
+     */
+    Transaction next(Random random);
+
+    /**
+     * A named group of statements executed and timed as one operation.
+     *
+     * @param type       transaction type used to group latencies in the report
+     * @param statements SQL statements in execution order
+     */
+    record Transaction(String type, List<String> statements) {
+    }
+}
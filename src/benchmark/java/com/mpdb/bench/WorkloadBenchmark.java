@@ -0,0 +1,342 @@
+package com.mpdb.bench;
+
+import com.mpdb.repl.AdmissionController;
+import com.mpdb.repl.CalciteQueryParser;
+import com.mpdb.repl.ColonCommandProcessor;
+import com.mpdb.repl.CommandProcessor;
+import com.mpdb.repl.DbState;
+import com.mpdb.repl.QueryProfiler;
+import com.mpdb.repl.QueryResultCache;
+import com.mpdb.repl.SqlQueryProcessor;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * End-to-end throughput/latency benchmark.
+ * Drives {@link CommandProcessor} with TPC-C-like (OLTP) and TPC-H-like (OLAP) workloads from
+ * a configurable number of concurrent clients and writes throughput and p50/p99/p999 latency
+ * per workload and transaction type to a JSON report.
+ *
+ * <p>Options (all {@code --name=value}):
+ * <ul>
+ *   <li>{@code workload} - {@code oltp}, {@code olap} or {@code all} (default {@code all})</li>
+ *   <li>{@code scale} - scale factor: warehouses for OLTP, TPC-H scale factor for OLAP (default 1)</li>
+ *   <li>{@code clients} - number of concurrent clients (default 4)</li>
+ *   <li>{@code max-concurrent} - admission limit on concurrently executing statements;
+ *       0 uses the number of clients so no client is queued (default 0)</li>
+ *   <li>{@code duration} - measured seconds per workload (default 30)</li>
+ *   <li>{@code warmup} - unmeasured warm-up seconds per workload (default 5)</li>
+ *   <li>{@code result-cache} - {@code on} or {@code off} (default {@code off})</li>
+ *   <li>{@code seed} - base random seed (default 42)</li>
+ *   <li>{@code output} - JSON report path (default {@code build/reports/benchmark/results.json})</li>
+ * </ul>
+ */
+public final class WorkloadBenchmark {
+
+    private WorkloadBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        CommandProcessor processor = createProcessor(options);
+
+        List<Workload> workloads = new ArrayList<>();
+        if (options.workload.equals("oltp") || options.workload.equals("all")) {
+            workloads.add(new OltpWorkload(options.scale));
+        }
+        if (options.workload.equals("olap") || options.workload.equals("all")) {
+            workloads.add(new OlapWorkload(options.scale));
+        }
+        if (workloads.isEmpty()) {
+            throw new IllegalArgumentException("Unknown workload: " + options.workload + " (expected oltp, olap or all)");
+        }
+
+        List<WorkloadResult> results = new ArrayList<>();
+        for (Workload workload : workloads) {
+            System.out.printf("Running %s: %d client(s), %d concurrent statement(s), scale %d, %ds warm-up, %ds measured%n",
+                    workload.name(), options.clients, options.maxConcurrentQueries(), options.scale,
+                    options.warmupSeconds, options.durationSeconds);
+            run(processor, workload, options, options.warmupSeconds);
+            WorkloadResult result = run(processor, workload, options, options.durationSeconds);
+            results.add(result);
+            System.out.println(result.summary());
+        }
+
+        Path output = Path.of(options.output);
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        Files.writeString(output, toJson(options, results));
+        System.out.println("Report written to " + output.toAbsolutePath());
+    }
+
+    private static CommandProcessor createProcessor(Options options) {
+        DbState dbState = new DbState();
+        dbState.setDebugAstMode(false);
+        dbState.setResultCacheEnabled(options.resultCache);
+        CalciteQueryParser queryParser = new CalciteQueryParser();
+        QueryResultCache resultCache = new QueryResultCache(1024);
+        QueryProfiler queryProfiler = new QueryProfiler(true, true, 1000, 0.0, 10_000);
+        AdmissionController admissionController = new AdmissionController(options.maxConcurrentQueries(), 30_000);
+        return new CommandProcessor(
+                new ColonCommandProcessor(dbState, resultCache, queryProfiler, admissionController),
+                new SqlQueryProcessor(queryParser, dbState, resultCache, queryProfiler, admissionController));
+    }
+
+    private static WorkloadResult run(CommandProcessor processor, Workload workload, Options options, int seconds)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(options.clients);
+        try {
+            long start = System.nanoTime();
+            long deadline = start + seconds * 1_000_000_000L;
+            List<Future<ClientResult>> futures = new ArrayList<>();
+            for (int client = 0; client < options.clients; client++) {
+                long seed = options.seed + client;
+                futures.add(executor.submit(() -> runClient(processor, workload, new Random(seed), deadline)));
+            }
+
+            WorkloadResult result = new WorkloadResult(workload.name());
+            for (Future<ClientResult> future : futures) {
+                result.add(future.get());
+            }
+            result.elapsedNanos = System.nanoTime() - start;
+            return result;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ClientResult runClient(CommandProcessor processor, Workload workload, Random random, long deadline) {
+        ClientResult result = new ClientResult();
+        while (System.nanoTime() < deadline) {
+            Workload.Transaction transaction = workload.next(random);
+            long start = System.nanoTime();
+            for (String sql : transaction.statements()) {
+                String response = processor.process(sql);
+                if (response != null && response.startsWith("❌")) {
+                    result.errors++;
+                }
+            }
+            result.latencies(transaction.type()).add(System.nanoTime() - start);
+            result.statements += transaction.statements().size();
+        }
+        return result;
+    }
+
+    private static String toJson(Options options, List<WorkloadResult> results) {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"timestamp\": \"").append(Instant.now()).append("\",\n");
+        json.append("  \"javaVersion\": \"").append(System.getProperty("java.version")).append("\",\n");
+        json.append("  \"availableProcessors\": ").append(Runtime.getRuntime().availableProcessors()).append(",\n");
+        json.append("  \"config\": {")
+                .append("\"workload\": \"").append(options.workload).append("\", ")
+                .append("\"scale\": ").append(options.scale).append(", ")
+                .append("\"clients\": ").append(options.clients).append(", ")
+                .append("\"maxConcurrentQueries\": ").append(options.maxConcurrentQueries()).append(", ")
+                .append("\"durationSeconds\": ").append(options.durationSeconds).append(", ")
+                .append("\"warmupSeconds\": ").append(options.warmupSeconds).append(", ")
+                .append("\"resultCache\": ").append(options.resultCache).append(", ")
+                .append("\"seed\": ").append(options.seed).append("},\n");
+        json.append("  \"workloads\": [\n");
+        for (int i = 0; i < results.size(); i++) {
+            results.get(i).appendJson(json);
+            json.append(i < results.size() - 1 ? ",\n" : "\n");
+        }
+        json.append("  ]\n");
+        json.append("}\n");
+        return json.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    private static String rate(long count, long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos > 0 ? count * 1_000_000_000.0 / nanos : 0.0);
+    }
+
+    /**
+     * Command-line options.
+     */
+    private static final class Options {
+        private String workload = "all";
+        private int scale = 1;
+        private int clients = 4;
+        private int maxConcurrent = 0;
+        private int durationSeconds = 30;
+        private int warmupSeconds = 5;
+        private boolean resultCache = false;
+        private long seed = 42;
+        private String output = "build/reports/benchmark/results.json";
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+                }
+                String name = arg.substring(2, arg.indexOf('='));
+                String value = arg.substring(arg.indexOf('=') + 1);
+                switch (name) {
+                    case "workload" -> options.workload = value.toLowerCase(Locale.ROOT);
+                    case "scale" -> options.scale = positive(name, value);
+                    case "clients" -> options.clients = positive(name, value);
+                    case "max-concurrent" -> options.maxConcurrent = Integer.parseInt(value);
+                    case "duration" -> options.durationSeconds = positive(name, value);
+                    case "warmup" -> options.warmupSeconds = Integer.parseInt(value);
+                    case "result-cache" -> options.resultCache = "on".equalsIgnoreCase(value);
+                    case "seed" -> options.seed = Long.parseLong(value);
+                    case "output" -> options.output = value;
+                    default -> throw new IllegalArgumentException("Unknown option: --" + name);
+                }
+            }
+            return options;
+        }
+
+        /**
+         * Admission limit; defaults to one slot per client so the benchmark measures the engine, not the queue.
+         */
+        int maxConcurrentQueries() {
+            return maxConcurrent > 0 ? maxConcurrent : clients;
+        }
+
+        private static int positive(String name, String value) {
+            int parsed = Integer.parseInt(value);
+            if (parsed <= 0) {
+                throw new IllegalArgumentException("--" + name + " must be positive, got: " + value);
+            }
+            return parsed;
+        }
+    }
+
+    /**
+     * Per-client counters and latencies, merged into a {@link WorkloadResult} when the run ends.
+     */
+    private static final class ClientResult {
+        private final Map<String, Latencies> latenciesByType = new TreeMap<>();
+        private long statements;
+        private long errors;
+
+        Latencies latencies(String type) {
+            return latenciesByType.computeIfAbsent(type, t -> new Latencies());
+        }
+    }
+
+    /**
+     * Aggregated result of one workload run.
+     */
+    private static final class WorkloadResult {
+        private final String name;
+        private final Latencies all = new Latencies();
+        private final Map<String, Latencies> byType = new TreeMap<>();
+        private long statements;
+        private long errors;
+        private long elapsedNanos;
+
+        WorkloadResult(String name) {
+            this.name = name;
+        }
+
+        void add(ClientResult client) {
+            statements += client.statements;
+            errors += client.errors;
+            client.latenciesByType.forEach((type, latencies) -> {
+                all.addAll(latencies);
+                byType.computeIfAbsent(type, t -> new Latencies()).addAll(latencies);
+            });
+        }
+
+        String summary() {
+            all.sort();
+            return String.format(Locale.ROOT,
+                    "  %s: %d ops (%s ops/s, %s stmts/s), errors %d, p50 %s ms, p99 %s ms, p999 %s ms",
+                    name, all.size(), rate(all.size(), elapsedNanos), rate(statements, elapsedNanos), errors,
+                    millis(all.percentile(0.50)), millis(all.percentile(0.99)), millis(all.percentile(0.999)));
+        }
+
+        void appendJson(StringBuilder json) {
+            json.append("    {\n");
+            json.append("      \"name\": \"").append(name).append("\",\n");
+            json.append("      \"operations\": ").append(all.size()).append(",\n");
+            json.append("      \"statements\": ").append(statements).append(",\n");
+            json.append("      \"errors\": ").append(errors).append(",\n");
+            json.append("      \"elapsedSeconds\": ").append(String.format(Locale.ROOT, "%.3f", elapsedNanos / 1e9)).append(",\n");
+            json.append("      \"throughputOpsPerSec\": ").append(rate(all.size(), elapsedNanos)).append(",\n");
+            json.append("      \"throughputStatementsPerSec\": ").append(rate(statements, elapsedNanos)).append(",\n");
+            json.append("      \"latencyMs\": ").append(all.toJson()).append(",\n");
+            json.append("      \"transactions\": {\n");
+            int i = 0;
+            for (Map.Entry<String, Latencies> entry : byType.entrySet()) {
+                json.append("        \"").append(entry.getKey()).append("\": {\"count\": ").append(entry.getValue().size())
+                        .append(", \"latencyMs\": ").append(entry.getValue().toJson()).append("}")
+                        .append(++i < byType.size() ? ",\n" : "\n");
+            }
+            json.append("      }\n");
+            json.append("    }");
+        }
+    }
+
+    /**
+     * Growable array of latencies in nanoseconds.
+     */
+    private static final class Latencies {
+        private long[] values = new long[1024];
+        private int size;
+        private boolean sorted;
+
+        void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+            sorted = false;
+        }
+
+        void addAll(Latencies other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.values[i]);
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        void sort() {
+            if (!sorted) {
+                Arrays.sort(values, 0, size);
+                sorted = true;
+            }
+        }
+
+        /** Nearest-rank percentile; requires {@link #sort()}. */
+        long percentile(double p) {
+            if (size == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(p * size);
+            return values[Math.max(0, Math.min(size, rank) - 1)];
+        }
+
+        String toJson() {
+            sort();
+            return "{\"p50\": " + millis(percentile(0.50)) +
+                   ", \"p99\": " + millis(percentile(0.99)) +
+                   ", \"p999\": " + millis(percentile(0.999)) +
+                   ", \"max\": " + millis(size > 0 ? values[size - 1] : 0) + "}";
+        }
+    }
+}
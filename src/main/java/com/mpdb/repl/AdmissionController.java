@@ -0,0 +1,90 @@
+package com.mpdb.repl;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of concurrently executing statements. Statements beyond the cap wait
+ * in a FIFO queue for up to the queue timeout (or their own statement timeout, if shorter)
+ * instead of overcommitting the machine. Also tracks running statements so they can be cancelled.
+ */
+@Component
+public class AdmissionController {
+
+    private final int maxConcurrentQueries;
+    private final long queueTimeoutMs;
+    private final Semaphore permits;
+    private final Set<QueryContext> running = ConcurrentHashMap.newKeySet();
+
+    public AdmissionController(@Value("${app.admission.max-concurrent-queries:16}") int maxConcurrentQueries,
+                               @Value("${app.admission.queue-timeout-ms:30000}") long queueTimeoutMs) {
+        this.maxConcurrentQueries = maxConcurrentQueries;
+        this.queueTimeoutMs = queueTimeoutMs;
+        this.permits = new Semaphore(maxConcurrentQueries, true);
+    }
+
+    /**
+     * Wait for an execution slot and register the statement as running.
+     *
+     * @param statementTimeoutMs statement timeout in milliseconds, or 0 for none; time spent queued counts towards it
+     * @return context of the admitted statement; must be passed to {@link #release}
+     * @throws QueryCancelledException if no slot became available in time
+     */
+    public QueryContext admit(long statementTimeoutMs) {
+        QueryContext context = new QueryContext(statementTimeoutMs);
+        long waitMs = Math.min(queueTimeoutMs, context.remainingMs());
+        try {
+            if (!permits.tryAcquire(waitMs, TimeUnit.MILLISECONDS)) {
+                throw new QueryCancelledException("not admitted within " + waitMs + " ms, " +
+                        maxConcurrentQueries + " statements already running");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryCancelledException("interrupted while waiting for admission");
+        }
+        running.add(context);
+        return context;
+    }
+
+    /**
+     * Unregister a statement and free its execution slot.
+     */
+    public void release(QueryContext context) {
+        if (context != null && running.remove(context)) {
+            permits.release();
+        }
+    }
+
+    /**
+     * Cancel every running statement.
+     *
+     * @return number of statements cancelled
+     */
+    public int cancelAll() {
+        int cancelled = 0;
+        for (QueryContext context : running) {
+            if (!context.isCancelled()) {
+                context.cancel("cancelled by user");
+                cancelled++;
+            }
+        }
+        return cancelled;
+    }
+
+    public int getRunningCount() {
+        return running.size();
+    }
+
+    public int getQueuedCount() {
+        return permits.getQueueLength();
+    }
+
+    public int getMaxConcurrentQueries() {
+        return maxConcurrentQueries;
+    }
+}
@@ -14,27 +14,58 @@ import org.springframework.stereotype.Component;
 @Component
 public class CalciteQueryParser {
 
+    private static final int MAX_STATEMENT_TEMPLATES = 1024;
+
     private final SqlParser.Config parserConfig;
+    private final StatementTemplateCache templateCache;
 
     public CalciteQueryParser() {
         // Configure SQL parser to support DDL statements using SqlDdlParserImpl
         this.parserConfig = SqlParser.config()
                 .withCaseSensitive(false)
                 .withParserFactory(SqlDdlParserImpl.FACTORY);
+        this.templateCache = new StatementTemplateCache(MAX_STATEMENT_TEMPLATES, this::parseStatement);
     }
 
     /**
      * Parse SQL query into Abstract Syntax Tree (AST).
+     * Recurring point-lookup and single-row DML shapes are served from the statement
+     * template cache instead of running the full parser.
      *
      * @param sql SQL query string
      * @return SqlNode representing the AST
      * @throws SqlParseException if SQL syntax is invalid
      */
     public SqlNode parse(String sql) throws SqlParseException {
+        return templateCache.parse(sql);
+    }
+
+    /**
+     * Parse SQL with the full Calcite parser, bypassing the template cache.
+     */
+    SqlNode parseStatement(String sql) throws SqlParseException {
         SqlParser parser = SqlParser.create(sql, parserConfig);
         return parser.parseStmt();
     }
 
+    /**
+     * Statement fingerprint (see {@link SqlNormalizer#fingerprint}). For a statement that was just
+     * parsed on this thread the fast path's template text is reused, so it is not lexed again.
+     *
+     * @param sql SQL query string, the same instance that was passed to {@link #parse}
+     * @return fingerprint of the statement
+     */
+    public String fingerprint(String sql) {
+        return templateCache.fingerprint(sql);
+    }
+
+    /**
+     * Statement template cache backing the parser fast path.
+     */
+    StatementTemplateCache getTemplateCache() {
+        return templateCache;
+    }
+
     /**
      * Parse and validate SQL query, returning a result object.
      *
@@ -15,6 +15,9 @@ public enum ColonCommand {
     H("h"),
     QUESTION("?"),
     STATUS("status"),
+    RESULT_CACHE("result-cache"),
+    TOP_QUERIES("top-queries"),
+    TIMEOUT("timeout"),
     WRONG("wrong-command");
 
     private static final Map<String, ColonCommand> BY_NAME = new HashMap<>();
@@ -32,6 +35,9 @@ public enum ColonCommand {
         alias("?", QUESTION);
         alias("debug-ast", DEBUG_AST);
         alias("status", STATUS);
+        alias("result-cache", RESULT_CACHE);
+        alias("top-queries", TOP_QUERIES);
+        alias("timeout", TIMEOUT);
     }
 
     private final String primaryName;
@@ -2,6 +2,9 @@ package com.mpdb.repl;
 
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Locale;
+
 /**
  * Processor for handling colon-prefixed commands (meta commands).
  */
@@ -9,9 +12,16 @@ import org.springframework.stereotype.Component;
 public class ColonCommandProcessor implements Processor {
 
     private final DbState dbState;
+    private final QueryResultCache resultCache;
+    private final QueryProfiler queryProfiler;
+    private final AdmissionController admissionController;
 
-    public ColonCommandProcessor(DbState dbState) {
+    public ColonCommandProcessor(DbState dbState, QueryResultCache resultCache, QueryProfiler queryProfiler,
+                                 AdmissionController admissionController) {
         this.dbState = dbState;
+        this.resultCache = resultCache;
+        this.queryProfiler = queryProfiler;
+        this.admissionController = admissionController;
     }
 
     @Override
@@ -32,6 +42,9 @@ public class ColonCommandProcessor implements Processor {
             case QUIT, EXIT, Q -> handleQuit();
             case HELP, H, QUESTION -> getHelp();
             case STATUS -> handleStatus();
+            case RESULT_CACHE -> handleResultCache(arg);
+            case TOP_QUERIES -> handleTopQueries(arg);
+            case TIMEOUT -> handleTimeout(arg);
             case WRONG -> "Unknown command: :" + commandToken + "\nType ':help' or 'help' for available commands.";
         };
     }
@@ -53,13 +66,97 @@ public class ColonCommandProcessor implements Processor {
         }
     }
 
+    private String handleResultCache(String arg) {
+        if (arg == null) {
+            return "Result cache is currently: " + (dbState.isResultCacheEnabled() ? "ON" : "OFF") +
+                   "\nUsage: :result-cache [on|off]";
+        }
+
+        if ("on".equals(arg)) {
+            dbState.setResultCacheEnabled(true);
+            return "✅ Result cache enabled. Repeated SELECT results will be served from cache.";
+        } else if ("off".equals(arg)) {
+            dbState.setResultCacheEnabled(false);
+            resultCache.clear();
+            return "✅ Result cache disabled.";
+        } else {
+            return "Invalid argument. Usage: :result-cache [on|off]";
+        }
+    }
+
+    private String handleTopQueries(String arg) {
+        int limit = 10;
+        if ("reset".equals(arg)) {
+            queryProfiler.reset();
+            return "✅ Query statistics reset.";
+        } else if (arg != null) {
+            try {
+                limit = Integer.parseInt(arg);
+            } catch (NumberFormatException e) {
+                limit = -1;
+            }
+            if (limit <= 0) {
+                return "Invalid argument. Usage: :top-queries [n|reset]";
+            }
+        }
+
+        List<QueryProfiler.TopQuery> topQueries = queryProfiler.topQueries(limit);
+        if (topQueries.isEmpty()) {
+            return "No queries recorded yet.";
+        }
+
+        StringBuilder sb = new StringBuilder("=== Top Queries (by total time) ===\n");
+        for (QueryProfiler.TopQuery q : topQueries) {
+            sb.append(String.format(Locale.ROOT, "calls: %d  total: %.3f ms  avg: %.3f ms  max: %.3f ms%n  %s%n",
+                    q.calls(), q.totalMillis(), q.avgMillis(), q.maxMillis(), q.fingerprint()));
+        }
+        return sb.toString();
+    }
+
+    private String handleTimeout(String arg) {
+        if (arg == null) {
+            long timeoutMs = dbState.getStatementTimeoutMs();
+            return "Statement timeout is currently: " + (timeoutMs > 0 ? timeoutMs + " ms" : "OFF") +
+                   "\nUsage: :timeout [ms|off]";
+        }
+
+        if ("off".equals(arg) || "0".equals(arg)) {
+            dbState.setStatementTimeoutMs(0);
+            return "✅ Statement timeout disabled.";
+        }
+        try {
+            long timeoutMs = Long.parseLong(arg);
+            if (timeoutMs > 0) {
+                dbState.setStatementTimeoutMs(timeoutMs);
+                return "✅ Statement timeout set to " + timeoutMs + " ms.";
+            }
+        } catch (NumberFormatException e) {
+            // fall through to usage
+        }
+        return "Invalid argument. Usage: :timeout [ms|off]";
+    }
+
     private String handleQuit() {
         return "EXIT";
     }
 
     private String handleStatus() {
         return "=== System Status ===\n" +
-               "Debug AST mode: " + (dbState.isDebugAstMode() ? "ON" : "OFF") + "\n";
+               "Debug AST mode: " + (dbState.isDebugAstMode() ? "ON" : "OFF") + "\n" +
+               "Result cache: " + (dbState.isResultCacheEnabled() ? "ON" : "OFF") +
+               " (hits: " + resultCache.getHits() +
+               ", misses: " + resultCache.getMisses() +
+               ", entries: " + resultCache.size() + ")\n" +
+               "Statement timeout: " + (dbState.getStatementTimeoutMs() > 0 ? dbState.getStatementTimeoutMs() + " ms" : "OFF") + "\n" +
+               "Running statements: " + admissionController.getRunningCount() + "/" +
+               admissionController.getMaxConcurrentQueries() +
+               " (queued: " + admissionController.getQueuedCount() + ")\n" +
+               "Time to first prompt: " + formatMillis(dbState.getTimeToFirstPromptMs()) + "\n" +
+               "Time to first query: " + formatMillis(dbState.getTimeToFirstQueryMs()) + "\n";
+    }
+
+    private String formatMillis(Long millis) {
+        return millis != null ? millis + " ms" : "N/A";
     }
 
     private String getHelp() {
@@ -67,8 +164,11 @@ public class ColonCommandProcessor implements Processor {
                 Colon-prefixed commands:
                   :quit, :exit, :q  - Exit the application
                   :help, :h, :?     - Show this help message
-                  :status           - Show system status (debug modes)
+                  :status           - Show system status (debug modes, cache)
                   :debug-ast [on|off] - Enable/disable AST debug output
+                  :result-cache [on|off] - Enable/disable the SELECT result cache
+                  :top-queries [n|reset] - Show the n statements with the highest total time
+                  :timeout [ms|off] - Set/disable the per-statement timeout
                 
                 SQL Support (parsing & validation only):
                   SELECT ...        - Parse SELECT queries
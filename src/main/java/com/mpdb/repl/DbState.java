@@ -13,6 +13,16 @@ import org.springframework.stereotype.Component;
 public class DbState {
 
     private boolean debugAstMode = true;
+    private boolean resultCacheEnabled = false;
+
+    /** Per-statement timeout in ms; 0 disables the timeout. */
+    private long statementTimeoutMs = 0;
+
+    /** JVM uptime in ms when the first prompt was shown, or null before that. */
+    private Long timeToFirstPromptMs;
+
+    /** JVM uptime in ms when the first SQL statement completed, or null before that. */
+    private Long timeToFirstQueryMs;
 
 }
 
@@ -0,0 +1,74 @@
+package com.mpdb.repl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Warms up the Calcite parser on a background thread at startup so that the
+ * first user query does not pay for class loading and JIT compilation of
+ * {@code SqlDdlParserImpl}. Enabled with {@code app.warmup.enabled}.
+ */
+@Component
+@Slf4j
+public class ParserWarmup {
+
+    private static final String[] WARMUP_STATEMENTS = {
+            "SELECT a, COUNT(*) FROM t JOIN u ON t.id = u.id WHERE a > 1 GROUP BY a ORDER BY a",
+            "INSERT INTO t (id, name) VALUES (1, 'a')",
+            "UPDATE t SET name = 'b' WHERE id = 1",
+            "DELETE FROM t WHERE id = 1",
+            "CREATE TABLE t (id INT, name VARCHAR(50))"
+    };
+
+    private final CalciteQueryParser queryParser;
+
+    @Value("${app.warmup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.warmup.iterations:50}")
+    private int iterations;
+
+    public ParserWarmup(CalciteQueryParser queryParser) {
+        this.queryParser = queryParser;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void onApplicationStarted() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::warmUp, "parser-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Parse a fixed set of representative statements.
+     *
+     * @return number of statements parsed without error
+     */
+    int warmUp() {
+        long start = System.nanoTime();
+        int parsed = 0;
+        for (int i = 0; i < iterations; i++) {
+            for (String sql : WARMUP_STATEMENTS) {
+                try {
+                    // The full parser: the template fast path would skip the code being warmed up
+                    SqlNode ast = queryParser.parseStatement(sql);
+                    SqlTableExtractor.readTables(ast);
+                    SqlTableExtractor.writtenTables(ast);
+                    parsed++;
+                } catch (SqlParseException e) {
+                    log.debug("Warm-up statement failed to parse: {}", sql, e);
+                }
+            }
+        }
+        log.debug("Parser warm-up finished in {} ms", (System.nanoTime() - start) / 1_000_000);
+        return parsed;
+    }
+}
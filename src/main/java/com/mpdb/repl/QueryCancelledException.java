@@ -0,0 +1,11 @@
+package com.mpdb.repl;
+
+/**
+ * Thrown when a statement is cancelled, exceeds its timeout, or is not admitted for execution.
+ */
+public class QueryCancelledException extends RuntimeException {
+
+    public QueryCancelledException(String message) {
+        super(message);
+    }
+}
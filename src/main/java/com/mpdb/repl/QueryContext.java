@@ -0,0 +1,57 @@
+package com.mpdb.repl;
+
+/**
+ * Per-statement execution context carrying the cancellation flag and timeout deadline.
+ * Cancellation is cooperative: processing code calls {@link #checkCancelled()} at phase
+ * and batch boundaries.
+ */
+public class QueryContext {
+
+    private final long timeoutMs;
+    private final long deadlineNanos;
+    private volatile String cancelReason;
+
+    /**
+     * @param timeoutMs statement timeout in milliseconds, or 0 for no timeout
+     */
+    public QueryContext(long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+        this.deadlineNanos = timeoutMs > 0 ? System.nanoTime() + timeoutMs * 1_000_000 : 0;
+    }
+
+    /**
+     * Request cancellation. The statement stops at its next {@link #checkCancelled()} call.
+     */
+    public void cancel(String reason) {
+        if (cancelReason == null) {
+            cancelReason = reason;
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelReason != null;
+    }
+
+    /**
+     * Remaining time before the timeout in milliseconds, or {@link Long#MAX_VALUE} if there is no timeout.
+     */
+    public long remainingMs() {
+        if (deadlineNanos == 0) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, (deadlineNanos - System.nanoTime()) / 1_000_000);
+    }
+
+    /**
+     * @throws QueryCancelledException if the statement was cancelled or its timeout has elapsed
+     */
+    public void checkCancelled() {
+        String reason = cancelReason;
+        if (reason != null) {
+            throw new QueryCancelledException(reason);
+        }
+        if (deadlineNanos != 0 && System.nanoTime() - deadlineNanos > 0) {
+            throw new QueryCancelledException("statement timeout of " + timeoutMs + " ms exceeded");
+        }
+    }
+}
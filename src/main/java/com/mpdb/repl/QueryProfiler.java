@@ -0,0 +1,159 @@
+package com.mpdb.repl;
+
+import org.apache.calcite.sql.SqlNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Slow-query log and sampled query profiler.
+ * Aggregates per-fingerprint statistics for every statement ({@code app.profiler.enabled}) and
+ * writes statements that exceed the threshold, or are picked by sampling, to the
+ * {@code com.mpdb.slowquery} logger ({@code app.slow-query-log.enabled}).
+ * That logger is routed through an asynchronous, non-blocking appender to a rotating file
+ * (see {@link SlowQueryLogConfigurer}), so logging never blocks the query thread.
+ */
+@Component
+public class QueryProfiler {
+
+    static final String SLOW_QUERY_LOGGER = "com.mpdb.slowquery";
+
+    private static final Logger SLOW_QUERY_LOG = LoggerFactory.getLogger(SLOW_QUERY_LOGGER);
+
+    private final boolean profilerEnabled;
+    private final boolean logEnabled;
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final int maxFingerprints;
+    private final Map<String, FingerprintStats> stats = new ConcurrentHashMap<>();
+
+    public QueryProfiler(@Value("${app.profiler.enabled:true}") boolean profilerEnabled,
+                         @Value("${app.slow-query-log.enabled:true}") boolean logEnabled,
+                         @Value("${app.slow-query-log.threshold-ms:1000}") long thresholdMs,
+                         @Value("${app.slow-query-log.sample-rate:0.0}") double sampleRate,
+                         @Value("${app.slow-query-log.max-fingerprints:10000}") int maxFingerprints) {
+        this.profilerEnabled = profilerEnabled;
+        this.logEnabled = logEnabled;
+        this.thresholdNanos = thresholdMs * 1_000_000;
+        this.sampleRate = sampleRate;
+        this.maxFingerprints = maxFingerprints;
+    }
+
+    /**
+     * @return true if statements are aggregated for {@code :top-queries} or written to the slow-query log;
+     *         callers skip computing the fingerprint otherwise
+     */
+    public boolean isEnabled() {
+        return profilerEnabled || logEnabled;
+    }
+
+    /**
+     * Record one executed statement.
+     *
+     * @param sql          original SQL
+     * @param fingerprint  statement fingerprint (see {@link SqlNormalizer#fingerprint})
+     * @param ast          parsed statement
+     * @param parseNanos   time spent parsing
+     * @param executeNanos time spent after parsing
+     * @param rowsExamined rows read while executing the statement
+     */
+    public void record(String sql, String fingerprint, SqlNode ast, long parseNanos, long executeNanos,
+                       long rowsExamined) {
+        long totalNanos = parseNanos + executeNanos;
+        if (profilerEnabled) {
+            FingerprintStats entry = stats.get(fingerprint);
+            if (entry == null && stats.size() < maxFingerprints) {
+                entry = stats.computeIfAbsent(fingerprint, f -> new FingerprintStats());
+            }
+            if (entry != null) {
+                entry.add(totalNanos);
+            }
+        }
+        if (!logEnabled) {
+            return;
+        }
+
+        boolean slow = totalNanos >= thresholdNanos;
+        boolean sampled = !slow && sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        if ((slow || sampled) && SLOW_QUERY_LOG.isInfoEnabled()) {
+            SLOW_QUERY_LOG.info("{} total_ms={} parse_ms={} execute_ms={} rows_examined={} kind={} fingerprint=\"{}\" sql=\"{}\" plan=\"{}\"",
+                    slow ? "SLOW" : "SAMPLED",
+                    toMillis(totalNanos),
+                    toMillis(parseNanos),
+                    toMillis(executeNanos),
+                    rowsExamined,
+                    ast != null ? ast.getKind() : "N/A",
+                    fingerprint,
+                    SqlNormalizer.normalize(sql),
+                    ast != null ? SqlNormalizer.normalize(ast.toString()) : "N/A");
+        }
+    }
+
+    /**
+     * Statement fingerprints ordered by total time spent, highest first.
+     *
+     * @param limit maximum number of fingerprints to return
+     */
+    public List<TopQuery> topQueries(int limit) {
+        return stats.entrySet().stream()
+                .map(e -> e.getValue().snapshot(e.getKey()))
+                .sorted(Comparator.comparingLong(TopQuery::totalNanos).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Drop all aggregated statistics.
+     */
+    public void reset() {
+        stats.clear();
+    }
+
+    private static String toMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+
+    /**
+     * Aggregated statistics for one statement fingerprint.
+     */
+    public record TopQuery(String fingerprint, long calls, long totalNanos, long maxNanos) {
+
+        public double totalMillis() {
+            return totalNanos / 1_000_000.0;
+        }
+
+        public double avgMillis() {
+            return calls > 0 ? totalMillis() / calls : 0;
+        }
+
+        public double maxMillis() {
+            return maxNanos / 1_000_000.0;
+        }
+    }
+
+    private static final class FingerprintStats {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void add(long nanos) {
+            calls.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        TopQuery snapshot(String fingerprint) {
+            return new TopQuery(fingerprint, calls.sum(), totalNanos.sum(), maxNanos.get());
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.mpdb.repl;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Size-bounded LRU cache of complete SELECT results keyed by the statement's unparsed AST.
+ * Each entry records the version of every table it read; a write to any of those
+ * tables bumps its version and makes the entry stale. A write to a base table of a
+ * registered view also bumps the version of the view.
+ */
+@Component
+public class QueryResultCache {
+
+    private final int maxEntries;
+    private final Map<String, AtomicLong> tableVersions = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> viewBaseTables = new ConcurrentHashMap<>();
+    private final Set<String> unresolvedViews = ConcurrentHashMap.newKeySet();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final LinkedHashMap<String, Entry> entries;
+
+    public QueryResultCache(@Value("${app.result-cache.max-entries:1024}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > QueryResultCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Look up a cached result.
+     *
+     * @param key unparsed statement AST
+     * @return cached result, or null on a miss or if any table read by the entry changed since it was cached
+     */
+    public synchronized String get(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && !isCurrent(entry)) {
+            entries.remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.result();
+    }
+
+    /**
+     * Capture the current versions of the given tables.
+     * Call before computing a result so that writes made while it is computed invalidate it.
+     *
+     * @param tables tables read by the query
+     * @return table versions to pass to {@link #put}, or null if the query reads a view whose
+     *         base tables are unknown, so its result must not be cached
+     */
+    public Map<String, Long> currentVersions(Collection<String> tables) {
+        Map<String, Long> versions = new HashMap<>();
+        for (String table : tables) {
+            if (unresolvedViews.contains(table)) {
+                return null;
+            }
+            versions.put(table, version(table));
+        }
+        return versions;
+    }
+
+    /**
+     * Cache a result tagged with the versions of the tables it read.
+     *
+     * @param key           unparsed statement AST
+     * @param tableVersions versions captured by {@link #currentVersions} before the result was computed
+     * @param result        complete query result
+     */
+    public synchronized void put(String key, Map<String, Long> tableVersions, String result) {
+        Entry entry = new Entry(result, tableVersions);
+        if (isCurrent(entry)) {
+            entries.put(key, entry);
+        }
+    }
+
+    /**
+     * Record a write to the given tables, invalidating every cached result that read them.
+     * Writers call this both before and after applying the write: the first call stops results
+     * cached earlier from being served while the write is in progress, the second discards
+     * results computed from versions captured before the write completed.
+     */
+    public void invalidate(Collection<String> tables) {
+        for (String table : withDependentViews(tables)) {
+            tableVersions.computeIfAbsent(table, t -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    /**
+     * Record the tables a view reads, so that writes to them also invalidate results read through the view.
+     * Replaces any earlier definition of the view.
+     *
+     * @param view       view name
+     * @param baseTables tables read by the view definition, or null if they are unknown;
+     *                   results reading the view are then never cached
+     */
+    public void registerView(String view, Set<String> baseTables) {
+        if (baseTables != null) {
+            viewBaseTables.put(view, Set.copyOf(baseTables));
+            unresolvedViews.remove(view);
+        } else {
+            viewBaseTables.remove(view);
+            unresolvedViews.add(view);
+        }
+    }
+
+    /**
+     * Forget the definition of a dropped view.
+     */
+    public void unregisterView(String view) {
+        viewBaseTables.remove(view);
+        unresolvedViews.remove(view);
+    }
+
+    /**
+     * Drop all cached results and reset hit/miss counters.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        hits.set(0);
+        misses.set(0);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private boolean isCurrent(Entry entry) {
+        for (Map.Entry<String, Long> tagged : entry.tableVersions().entrySet()) {
+            if (version(tagged.getKey()) != tagged.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Set<String> withDependentViews(Collection<String> tables) {
+        Set<String> invalidated = new HashSet<>(tables);
+        boolean added = true;
+        // Repeat until no view is added, so views defined over views are covered
+        while (added) {
+            added = false;
+            for (Map.Entry<String, Set<String>> view : viewBaseTables.entrySet()) {
+                if (!invalidated.contains(view.getKey()) && !Collections.disjoint(view.getValue(), invalidated)) {
+                    invalidated.add(view.getKey());
+                    added = true;
+                }
+            }
+        }
+        return invalidated;
+    }
+
+    private long version(String table) {
+        AtomicLong version = tableVersions.get(table);
+        return version != null ? version.get() : 0L;
+    }
+
+    private record Entry(String result, Map<String, Long> tableVersions) {
+    }
+}
@@ -1,21 +1,29 @@
 package com.mpdb.repl;
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
+import sun.misc.Signal;
 
+import java.lang.management.ManagementFactory;
 import java.util.Scanner;
 
 @Component
+@Slf4j
 public class ReplRunner implements CommandLineRunner {
 
     private final CommandProcessor commandProcessor;
+    private final DbState dbState;
+    private final AdmissionController admissionController;
 
     @Value("${app.prompt:mp-db> }")
     private String prompt;
 
-    public ReplRunner(CommandProcessor commandProcessor) {
+    public ReplRunner(CommandProcessor commandProcessor, DbState dbState, AdmissionController admissionController) {
         this.commandProcessor = commandProcessor;
+        this.dbState = dbState;
+        this.admissionController = admissionController;
     }
 
     @Override
@@ -23,8 +31,14 @@ public class ReplRunner implements CommandLineRunner {
         Scanner scanner = new Scanner(System.in);
 
         printBanner();
+        installInterruptHandler();
 
         while (true) {
+            if (dbState.getTimeToFirstPromptMs() == null) {
+                // Reported by :status
+                dbState.setTimeToFirstPromptMs(ManagementFactory.getRuntimeMXBean().getUptime());
+            }
+
             System.out.print(prompt);
 
             if (!scanner.hasNextLine()) {
@@ -40,6 +54,10 @@ public class ReplRunner implements CommandLineRunner {
             try {
                 String result = commandProcessor.process(input);
 
+                if (dbState.getTimeToFirstQueryMs() == null && !input.startsWith(":")) {
+                    dbState.setTimeToFirstQueryMs(ManagementFactory.getRuntimeMXBean().getUptime());
+                }
+
                 // Handle EXIT command from colon commands
                 if ("EXIT".equals(result)) {
                     System.out.println("Goodbye!");
@@ -57,6 +75,21 @@ public class ReplRunner implements CommandLineRunner {
         scanner.close();
     }
 
+    /**
+     * Make Ctrl-C cancel the running statements instead of terminating the JVM.
+     */
+    private void installInterruptHandler() {
+        try {
+            Signal.handle(new Signal("INT"), signal -> {
+                if (admissionController.cancelAll() == 0) {
+                    System.out.print("\nUse ':quit' to exit.\n" + prompt);
+                }
+            });
+        } catch (IllegalArgumentException e) {
+            log.debug("SIGINT handling is not available: {}", e.getMessage());
+        }
+    }
+
     private void printBanner() {
         String banner = """
                 ═══════════════════════════════════════════
@@ -0,0 +1,80 @@
+package com.mpdb.repl;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.rolling.RollingFileAppender;
+import ch.qos.logback.core.rolling.SizeAndTimeBasedRollingPolicy;
+import ch.qos.logback.core.util.FileSize;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Attaches the slow-query log file to the {@code com.mpdb.slowquery} logger at startup when
+ * {@code app.slow-query-log.enabled} is true. Configured here rather than in {@code logback-spring.xml}
+ * so that no log file is created when it is disabled, without logback's Janino-based conditionals.
+ */
+@Component
+public class SlowQueryLogConfigurer {
+
+    @Value("${app.slow-query-log.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.slow-query-log.file:logs/slow-query.log}")
+    private String file;
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void onApplicationStarted() {
+        if (enabled && LoggerFactory.getILoggerFactory() instanceof LoggerContext context) {
+            attach(context, file);
+        }
+    }
+
+    /**
+     * Route the slow-query logger to a rotating file (daily and at 10 MB, 7 days, 100 MB in total)
+     * through an asynchronous appender that drops entries rather than blocking the query thread when full.
+     */
+    static void attach(LoggerContext context, String file) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %msg%n");
+        encoder.start();
+
+        RollingFileAppender<ILoggingEvent> fileAppender = new RollingFileAppender<>();
+        fileAppender.setContext(context);
+        fileAppender.setName("SLOW_QUERY_FILE");
+        fileAppender.setFile(file);
+        fileAppender.setEncoder(encoder);
+
+        SizeAndTimeBasedRollingPolicy<ILoggingEvent> rollingPolicy = new SizeAndTimeBasedRollingPolicy<>();
+        rollingPolicy.setContext(context);
+        rollingPolicy.setParent(fileAppender);
+        rollingPolicy.setFileNamePattern(file + ".%d{yyyy-MM-dd}.%i.gz");
+        rollingPolicy.setMaxFileSize(FileSize.valueOf("10MB"));
+        rollingPolicy.setMaxHistory(7);
+        rollingPolicy.setTotalSizeCap(FileSize.valueOf("100MB"));
+        rollingPolicy.start();
+        fileAppender.setRollingPolicy(rollingPolicy);
+        fileAppender.start();
+
+        AsyncAppender asyncAppender = new AsyncAppender();
+        asyncAppender.setContext(context);
+        asyncAppender.setName("ASYNC_SLOW_QUERY");
+        asyncAppender.setQueueSize(1024);
+        asyncAppender.setDiscardingThreshold(0);
+        asyncAppender.setNeverBlock(true);
+        asyncAppender.addAppender(fileAppender);
+        asyncAppender.start();
+
+        Logger logger = context.getLogger(QueryProfiler.SLOW_QUERY_LOGGER);
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(asyncAppender);
+    }
+}
@@ -0,0 +1,150 @@
+package com.mpdb.repl;
+
+/**
+ * Normalizes SQL text so that statements differing only in formatting map to the same key.
+ * Collapses whitespace, drops comments, upper-cases everything outside quoted literals and
+ * identifiers, and drops a trailing semicolon. Optimizer hints ({@code /*+ ...}) are kept.
+ */
+public final class SqlNormalizer {
+
+    private SqlNormalizer() {
+    }
+
+    /**
+     * Receives the position of each literal replaced by {@code ?} during fingerprinting.
+     */
+    interface LiteralListener {
+
+        /**
+         * @param start  index of the first character of the literal in the original SQL (the opening quote for strings)
+         * @param end    index after the last character of the literal (after the closing quote for strings)
+         * @param quoted true for string literals, false for numeric literals
+         */
+        void onLiteral(int start, int end, boolean quoted);
+    }
+
+    /**
+     * Normalize SQL text.
+     *
+     * @param sql SQL query string
+     * @return normalized SQL, or an empty string for null input
+     */
+    public static String normalize(String sql) {
+        StringBuilder out = new StringBuilder(sql != null ? sql.length() : 0);
+        normalize(sql, false, out, null);
+        return out.toString();
+    }
+
+    /**
+     * Compute the statement fingerprint: the normalized SQL with every string and
+     * numeric literal replaced by {@code ?}, so statements differing only in
+     * literal values share a fingerprint.
+     *
+     * @param sql SQL query string
+     * @return fingerprint, or an empty string for null input
+     */
+    public static String fingerprint(String sql) {
+        StringBuilder out = new StringBuilder(sql != null ? sql.length() : 0);
+        normalize(sql, true, out, null);
+        return out.toString();
+    }
+
+    /**
+     * Write the normalized form (or fingerprint) of {@code sql} into {@code out} without
+     * creating intermediate strings, reporting every replaced literal to {@code listener}.
+     *
+     * @param sql             SQL query string; null is treated as empty
+     * @param replaceLiterals true to produce the fingerprint
+     * @param out             buffer the result is appended to
+     * @param listener        literal callback, or null
+     */
+    static void normalize(String sql, boolean replaceLiterals, StringBuilder out, LiteralListener listener) {
+        if (sql == null) {
+            return;
+        }
+
+        int base = out.length();
+        char quote = 0;
+        int quoteStart = 0;
+        boolean pendingSpace = false;
+
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+
+            if (quote != 0) {
+                boolean replaced = quote == '\'' && replaceLiterals;
+                boolean escaped = c == quote && i + 1 < sql.length() && sql.charAt(i + 1) == quote;
+                if (!replaced) {
+                    out.append(c);
+                    if (escaped) {
+                        out.append(c);
+                    }
+                }
+                if (escaped) {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                    if (replaced && listener != null) {
+                        listener.onLiteral(quoteStart, i + 1, true);
+                    }
+                }
+                continue;
+            }
+
+            if (c == '-' && i + 1 < sql.length() && sql.charAt(i + 1) == '-') {
+                // A comment separates tokens like whitespace; its end of line must not be lost
+                int endOfLine = sql.indexOf('\n', i);
+                i = endOfLine < 0 ? sql.length() : endOfLine;
+                pendingSpace = out.length() > base;
+                continue;
+            }
+
+            if (c == '/' && i + 2 < sql.length() && sql.charAt(i + 1) == '*' && sql.charAt(i + 2) != '+') {
+                int close = sql.indexOf("*/", i + 2);
+                i = close < 0 ? sql.length() : close + 1;
+                pendingSpace = out.length() > base;
+                continue;
+            }
+
+            if (Character.isWhitespace(c)) {
+                pendingSpace = out.length() > base;
+                continue;
+            }
+
+            if (pendingSpace) {
+                out.append(' ');
+                pendingSpace = false;
+            }
+
+            if (replaceLiterals && c == '\'') {
+                quote = c;
+                quoteStart = i;
+                out.append('?');
+            } else if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+                out.append(c);
+            } else if (replaceLiterals && Character.isDigit(c) && !endsWithIdentifierPart(out, base)) {
+                int start = i;
+                while (i + 1 < sql.length() && (Character.isDigit(sql.charAt(i + 1)) || sql.charAt(i + 1) == '.')) {
+                    i++;
+                }
+                out.append('?');
+                if (listener != null) {
+                    listener.onLiteral(start, i + 1, false);
+                }
+            } else {
+                out.append(Character.toUpperCase(c));
+            }
+        }
+
+        int end = out.length();
+        while (end > base && (out.charAt(end - 1) == ';' || out.charAt(end - 1) == ' ')) {
+            end--;
+        }
+        out.setLength(end);
+    }
+
+    private static boolean endsWithIdentifierPart(StringBuilder out, int base) {
+        return out.length() > base && Character.isJavaIdentifierPart(out.charAt(out.length() - 1));
+    }
+}
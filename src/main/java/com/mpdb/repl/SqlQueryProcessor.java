@@ -1,8 +1,13 @@
 package com.mpdb.repl;
 
 import lombok.extern.slf4j.Slf4j;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.SqlNode;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Processor for handling SQL queries using Apache Calcite.
  */
@@ -12,34 +17,116 @@ public class SqlQueryProcessor implements Processor {
 
     private final CalciteQueryParser queryParser;
     private final DbState dbState;
+    private final QueryResultCache resultCache;
+    private final QueryProfiler queryProfiler;
+    private final AdmissionController admissionController;
 
-    public SqlQueryProcessor(CalciteQueryParser queryParser, DbState dbState) {
+    public SqlQueryProcessor(CalciteQueryParser queryParser, DbState dbState,
+                             QueryResultCache resultCache, QueryProfiler queryProfiler,
+                             AdmissionController admissionController) {
         this.queryParser = queryParser;
         this.dbState = dbState;
+        this.resultCache = resultCache;
+        this.queryProfiler = queryProfiler;
+        this.admissionController = admissionController;
     }
 
     @Override
     public String process(String input) {
-        return handleSqlQuery(input);
+        QueryContext context;
+        try {
+            context = admissionController.admit(dbState.getStatementTimeoutMs());
+        } catch (QueryCancelledException e) {
+            return "❌ Query rejected: " + e.getMessage();
+        }
+
+        try {
+            return handleSqlQuery(input, context);
+        } catch (QueryCancelledException e) {
+            return "❌ Query cancelled: " + e.getMessage();
+        } finally {
+            admissionController.release(context);
+        }
     }
 
     /**
      * Handle SQL query using Calcite parser.
      * Parses the query, builds AST, and validates syntax.
+     * SELECT results are served from the result cache when it is enabled; the cache is keyed
+     * by the unparsed AST, so only valid statements are looked up and comments, formatting and
+     * keyword case do not split entries. Tables written by the statement are invalidated both
+     * before and after it executes.
+     * Parse and execution timings of every statement are reported to the query profiler.
+     * The context is checked for cancellation and timeout between phases.
      */
-    private String handleSqlQuery(String sql) {
+    private String handleSqlQuery(String sql, QueryContext context) {
+        long start = System.nanoTime();
         CalciteQueryParser.ParseResult result = queryParser.parseAndValidate(sql);
         if (!result.isValid()) {
             return "❌ SQL Parse Error:\n" + result.errorMessage();
         }
+        long parsed = System.nanoTime();
+        context.checkCancelled();
+
+        Set<String> writtenTables = SqlTableExtractor.writtenTables(result.ast());
+        registerViews(result.ast(), writtenTables);
+        if (!writtenTables.isEmpty()) {
+            resultCache.invalidate(writtenTables);
+        }
 
         if (dbState.isDebugAstMode()) {
             String queryType = result.getSqlKind();
             String astString = result.getAstString();
             System.out.printf("\nQuery Type: %s\nAST:\n%s\n", queryType, astString);
         }
-        return "\n⚠️  Note: Query execution is not yet implemented.";
+
+        boolean cacheable = dbState.isResultCacheEnabled() && result.ast().isA(SqlKind.QUERY);
+        String cacheKey = cacheable ? result.ast().toString() : null;
+        if (cacheable) {
+            String cached = resultCache.get(cacheKey);
+            if (cached != null) {
+                record(sql, result.ast(), parsed - start, System.nanoTime() - parsed);
+                return cached;
+            }
+        }
+        // A result whose FROM items cannot all be resolved to tables could never be invalidated
+        Set<String> readTables = cacheable ? SqlTableExtractor.readTables(result.ast()) : null;
+        Map<String, Long> tableVersions = readTables != null ? resultCache.currentVersions(readTables) : null;
+
+        String response = "\n⚠️  Note: Query execution is not yet implemented.";
+        context.checkCancelled();
+
+        if (!writtenTables.isEmpty()) {
+            resultCache.invalidate(writtenTables);
+        }
+        if (tableVersions != null) {
+            resultCache.put(cacheKey, tableVersions, response);
+        }
+
+        record(sql, result.ast(), parsed - start, System.nanoTime() - parsed);
+        return response;
     }
 
-}
+    private void record(String sql, SqlNode ast, long parseNanos, long executeNanos) {
+        // The fingerprint is only worth computing when the profiler or slow-query log uses it
+        if (queryProfiler.isEnabled()) {
+            // No rows are examined until query execution is implemented
+            queryProfiler.record(sql, queryParser.fingerprint(sql), ast, parseNanos, executeNanos, 0);
+        }
+    }
 
+    /**
+     * Keep the result cache's view definitions in step with CREATE and DROP VIEW, so that writes
+     * to a view's base tables invalidate results read through the view.
+     */
+    private void registerViews(SqlNode ast, Set<String> writtenTables) {
+        SqlNode viewQuery = SqlTableExtractor.viewQuery(ast);
+        for (String view : writtenTables) {
+            if (viewQuery != null) {
+                resultCache.registerView(view, SqlTableExtractor.readTables(viewQuery));
+            } else if (ast.getKind() == SqlKind.DROP_VIEW || ast.getKind() == SqlKind.DROP_MATERIALIZED_VIEW) {
+                resultCache.unregisterView(view);
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.mpdb.repl;
+
+import org.apache.calcite.sql.SqlCall;
+import org.apache.calcite.sql.SqlDelete;
+import org.apache.calcite.sql.SqlIdentifier;
+import org.apache.calcite.sql.SqlInsert;
+import org.apache.calcite.sql.SqlJoin;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.SqlMerge;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlNodeList;
+import org.apache.calcite.sql.SqlOrderBy;
+import org.apache.calcite.sql.SqlSelect;
+import org.apache.calcite.sql.SqlUpdate;
+import org.apache.calcite.sql.SqlWith;
+import org.apache.calcite.sql.SqlWithItem;
+import org.apache.calcite.sql.ddl.SqlCreateMaterializedView;
+import org.apache.calcite.sql.ddl.SqlCreateTable;
+import org.apache.calcite.sql.ddl.SqlCreateTableLike;
+import org.apache.calcite.sql.ddl.SqlCreateView;
+import org.apache.calcite.sql.ddl.SqlDropObject;
+import org.apache.calcite.sql.ddl.SqlTruncateTable;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Extracts table names referenced by a parsed SQL statement.
+ * Used to tag cached query results with the tables they read and to find
+ * the tables touched by writes.
+ */
+public final class SqlTableExtractor {
+
+    private SqlTableExtractor() {
+    }
+
+    /**
+     * Collect all tables read by a query, including tables in joins, subqueries and ORDER BY expressions.
+     *
+     * @param ast parsed query
+     * @return table names in upper case, dotted for qualified names, or null if a FROM item is
+     *         neither a table nor a query (e.g. UNNEST or a table function), so the tables read are unknown
+     */
+    public static Set<String> readTables(SqlNode ast) {
+        Set<String> tables = new LinkedHashSet<>();
+        return collectQueries(ast, tables) ? tables : null;
+    }
+
+    /**
+     * Collect the tables modified by a DML or DDL statement.
+     * Creating or replacing a (materialized) view counts as a write to the view.
+     *
+     * @param ast parsed statement
+     * @return target table names, empty if the statement does not modify a table
+     */
+    public static Set<String> writtenTables(SqlNode ast) {
+        Set<String> tables = new LinkedHashSet<>();
+        if (ast instanceof SqlInsert insert) {
+            collectFrom(insert.getTargetTable(), tables);
+        } else if (ast instanceof SqlUpdate update) {
+            collectFrom(update.getTargetTable(), tables);
+        } else if (ast instanceof SqlDelete delete) {
+            collectFrom(delete.getTargetTable(), tables);
+        } else if (ast instanceof SqlMerge merge) {
+            collectFrom(merge.getTargetTable(), tables);
+        } else if (ast instanceof SqlTruncateTable truncateTable) {
+            tables.add(tableName(truncateTable.name));
+        } else if (ast instanceof SqlCreateTable createTable) {
+            tables.add(tableName(createTable.name));
+        } else if (ast instanceof SqlCreateTableLike createTableLike) {
+            tables.add(tableName(createTableLike.name));
+        } else if (ast instanceof SqlCreateView createView) {
+            tables.add(tableName(createView.name));
+        } else if (ast instanceof SqlCreateMaterializedView createMaterializedView) {
+            tables.add(tableName(createMaterializedView.name));
+        } else if (ast instanceof SqlDropObject dropObject) {
+            tables.add(tableName(dropObject.name));
+        }
+        return tables;
+    }
+
+    /**
+     * Get the defining query of a CREATE [MATERIALIZED] VIEW statement.
+     *
+     * @param ast parsed statement
+     * @return the view query, or null if the statement does not create a view
+     */
+    public static SqlNode viewQuery(SqlNode ast) {
+        if (ast instanceof SqlCreateView createView) {
+            return createView.query;
+        } else if (ast instanceof SqlCreateMaterializedView createMaterializedView) {
+            return createMaterializedView.query;
+        }
+        return null;
+    }
+
+    /**
+     * @return false if the FROM item, or a FROM item nested in it, could not be resolved to tables
+     */
+    private static boolean collectFrom(SqlNode node, Set<String> tables) {
+        if (node == null) {
+            return true;
+        }
+        if (node instanceof SqlIdentifier identifier) {
+            tables.add(tableName(identifier));
+            return true;
+        }
+        if (node instanceof SqlJoin join) {
+            boolean left = collectFrom(join.getLeft(), tables);
+            boolean right = collectFrom(join.getRight(), tables);
+            return collectQueries(join.getCondition(), tables) && left && right;
+        }
+        switch (node.getKind()) {
+            case AS, EXPLICIT_TABLE, TABLE_REF, TABLESAMPLE, SNAPSHOT:
+                return collectFrom(((SqlCall) node).operand(0), tables);
+            default:
+                boolean resolved = collectQueries(node, tables);
+                return node.isA(SqlKind.QUERY) && resolved;
+        }
+    }
+
+    /**
+     * @return false if a FROM item anywhere in the node could not be resolved to tables
+     */
+    private static boolean collectQueries(SqlNode node, Set<String> tables) {
+        if (node == null) {
+            return true;
+        }
+        boolean resolved = true;
+        if (node instanceof SqlSelect select) {
+            resolved &= collectFrom(select.getFrom(), tables);
+            resolved &= collectQueries(select.getSelectList(), tables);
+            resolved &= collectQueries(select.getWhere(), tables);
+            resolved &= collectQueries(select.getGroup(), tables);
+            resolved &= collectQueries(select.getHaving(), tables);
+            resolved &= collectQueries(select.getQualify(), tables);
+            resolved &= collectQueries(select.getOrderList(), tables);
+        } else if (node instanceof SqlOrderBy orderBy) {
+            resolved &= collectQueries(orderBy.query, tables);
+            resolved &= collectQueries(orderBy.orderList, tables);
+            resolved &= collectQueries(orderBy.offset, tables);
+            resolved &= collectQueries(orderBy.fetch, tables);
+        } else if (node instanceof SqlWith with) {
+            resolved &= collectQueries(with.withList, tables);
+            resolved &= collectQueries(with.body, tables);
+        } else if (node instanceof SqlWithItem withItem) {
+            resolved &= collectQueries(withItem.query, tables);
+        } else if (node.getKind() == SqlKind.EXPLICIT_TABLE) {
+            resolved &= collectFrom(node, tables);
+        } else if (node instanceof SqlNodeList list) {
+            for (SqlNode item : list) {
+                resolved &= collectQueries(item, tables);
+            }
+        } else if (node instanceof SqlCall call) {
+            for (SqlNode operand : call.getOperandList()) {
+                resolved &= collectQueries(operand, tables);
+            }
+        }
+        return resolved;
+    }
+
+    private static String tableName(SqlIdentifier identifier) {
+        return String.join(".", identifier.names).toUpperCase();
+    }
+}
@@ -0,0 +1,466 @@
+package com.mpdb.repl;
+
+import org.apache.calcite.sql.SqlCall;
+import org.apache.calcite.sql.SqlDelete;
+import org.apache.calcite.sql.SqlDynamicParam;
+import org.apache.calcite.sql.SqlIdentifier;
+import org.apache.calcite.sql.SqlLiteral;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlNodeList;
+import org.apache.calcite.sql.SqlSelect;
+import org.apache.calcite.sql.SqlUpdate;
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.apache.calcite.sql.parser.SqlParserPos;
+import org.apache.calcite.sql.util.SqlShuttle;
+import org.apache.calcite.util.Litmus;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Parser fast path for the hottest statement shapes (point lookups, single-row INSERT,
+ * UPDATE and DELETE by key).
+ * <p>
+ * Each statement is lexed once into a reusable per-thread buffer holding its template
+ * (the {@link SqlNormalizer#fingerprint fingerprint}, literals replaced by {@code ?}) and the
+ * positions of its literals; no strings are created for the lookup. The first time a shape is
+ * seen its template is parsed with the literals as dynamic parameters, and it is kept only if
+ * binding the literals back onto that AST gives the same node classes, operands and unparsed
+ * SQL as the full parse. Later statements of the same shape skip the Calcite parser: their
+ * literals are bound onto a copy of the cached AST. Parser positions in such an AST refer to
+ * the template text, not to the original SQL.
+ * <p>
+ * Everything else falls back to the full parser: other statement kinds, SQL with comments,
+ * dynamic parameters or trailing semicolons, and shapes whose literals sit where a parameter
+ * is not accepted ({@code DATE '...'}, {@code INTERVAL '1' DAY}, {@code VARCHAR(10)}).
+ * <p>
+ * Shapes are kept in a set-associative table: each shape maps to a set of {@value #WAYS} slots.
+ * When its set is full, a new shape replaces the least used one, preferring shapes that cannot
+ * take the fast path, and the use counts of the others are halved so that formerly hot shapes age out.
+ */
+class StatementTemplateCache {
+
+    /**
+     * The full parser the cache falls back to.
+     */
+    @FunctionalInterface
+    interface StatementParser {
+        SqlNode parse(String sql) throws SqlParseException;
+    }
+
+    private static final String[] FAST_PATH_KEYWORDS = {"SELECT ", "INSERT ", "UPDATE ", "DELETE "};
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final int WAYS = 4;
+    private static final int MAX_USES = 1 << 20;
+
+    private final int maxTemplates;
+    private final StatementParser parser;
+    private final AtomicReferenceArray<Template> slots;
+    private final AtomicIntegerArray uses;
+    private final AtomicInteger size = new AtomicInteger();
+    private final ThreadLocal<Scan> scans = ThreadLocal.withInitial(Scan::new);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param maxTemplates maximum number of statement shapes to remember, rounded down to a power of
+     *                     two and up to at least {@value #WAYS}; 0 disables the fast path
+     * @param parser       full parser used for misses and to build templates
+     */
+    StatementTemplateCache(int maxTemplates, StatementParser parser) {
+        this.maxTemplates = maxTemplates;
+        this.parser = parser;
+        int sets = Integer.highestOneBit(Math.max(1, maxTemplates / WAYS));
+        this.slots = new AtomicReferenceArray<>(sets * WAYS);
+        this.uses = new AtomicIntegerArray(sets * WAYS);
+    }
+
+    /**
+     * Parse a statement, taking the fast path when its shape has a cached template.
+     *
+     * @param sql SQL statement
+     * @return the statement AST, equivalent to what the full parser returns
+     * @throws SqlParseException if SQL syntax is invalid
+     */
+    SqlNode parse(String sql) throws SqlParseException {
+        if (maxTemplates <= 0) {
+            return parser.parse(sql);
+        }
+
+        Scan scan = scans.get();
+        if (!scan.read(sql)) {
+            return parser.parse(sql);
+        }
+
+        Template template = find(scan);
+        scan.remember(sql, template);
+        if (template != null && template.ast != null) {
+            try {
+                SqlNode node = template.bind(sql, scan);
+                hits.increment();
+                return node;
+            } catch (RuntimeException e) {
+                // A literal the template cannot hold (e.g. a malformed number); let the parser report it
+            }
+        }
+
+        misses.increment();
+        SqlNode node = parser.parse(sql);
+        if (template == null) {
+            Template learned = learn(sql, scan, node);
+            insert(learned);
+            scan.remember(sql, learned);
+        }
+        return node;
+    }
+
+    /**
+     * Fingerprint of a statement (see {@link SqlNormalizer#fingerprint}). When {@code sql} was
+     * just parsed on this thread, the template text is reused instead of lexing it again.
+     */
+    String fingerprint(String sql) {
+        Scan scan = scans.get();
+        if (scan.sql == sql && scan.template != null) {
+            return scan.template.text;
+        }
+        return SqlNormalizer.fingerprint(sql);
+    }
+
+    /**
+     * Number of statements parsed through a cached template.
+     */
+    long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Number of statements handed to the full parser.
+     */
+    long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Number of statement shapes remembered, including shapes that cannot take the fast path.
+     */
+    int size() {
+        return size.get();
+    }
+
+    /**
+     * Build the template for a statement that was just parsed in full. Shapes that cannot be
+     * templated are remembered too (with a null AST) so they are not retried.
+     */
+    private Template learn(String sql, Scan scan, SqlNode expected) {
+        String text = scan.text.toString();
+        boolean[] quoted = Arrays.copyOf(scan.quoted, scan.literalCount);
+        try {
+            Template template = new Template(scan.hash, text, quoted, parser.parse(text));
+            if (isSameTree(template.bind(sql, scan), expected)) {
+                return template;
+            }
+        } catch (SqlParseException | RuntimeException e) {
+            // Some literal is not replaceable by a parameter in this shape
+        }
+        return new Template(scan.hash, text, quoted, null);
+    }
+
+    /**
+     * Whether a bound template is interchangeable with the full parse: same node classes
+     * (a call rebuilt through a generic operator is not), operands and unparsed SQL.
+     */
+    private static boolean isSameTree(SqlNode bound, SqlNode expected) {
+        return hasSameClasses(bound, expected)
+                && bound.equalsDeep(expected, Litmus.IGNORE)
+                && bound.toString().equals(expected.toString());
+    }
+
+    private static boolean hasSameClasses(SqlNode left, SqlNode right) {
+        if (left == null || right == null) {
+            return left == right;
+        }
+        if (left.getClass() != right.getClass()) {
+            return false;
+        }
+        List<SqlNode> leftChildren;
+        List<SqlNode> rightChildren;
+        if (left instanceof SqlNodeList leftList) {
+            leftChildren = leftList.getList();
+            rightChildren = ((SqlNodeList) right).getList();
+        } else if (left instanceof SqlCall leftCall) {
+            leftChildren = leftCall.getOperandList();
+            rightChildren = ((SqlCall) right).getOperandList();
+        } else {
+            return true;
+        }
+        if (leftChildren.size() != rightChildren.size()) {
+            return false;
+        }
+        for (int i = 0; i < leftChildren.size(); i++) {
+            if (!hasSameClasses(leftChildren.get(i), rightChildren.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Template find(Scan scan) {
+        int set = firstSlot(scan.hash);
+        for (int i = set; i < set + WAYS; i++) {
+            Template template = slots.get(i);
+            if (template != null && template.matches(scan)) {
+                if (uses.get(i) < MAX_USES) {
+                    uses.incrementAndGet(i);
+                }
+                return template;
+            }
+        }
+        return null;
+    }
+
+    private void insert(Template template) {
+        int set = firstSlot(template.hash);
+        int victim = set;
+        for (int i = set; i < set + WAYS; i++) {
+            Template existing = slots.get(i);
+            if (existing == null) {
+                if (slots.compareAndSet(i, null, template)) {
+                    uses.set(i, 0);
+                    size.incrementAndGet();
+                    return;
+                }
+                existing = slots.get(i);
+            }
+            if (existing.hash == template.hash && existing.text.equals(template.text)
+                    && Arrays.equals(existing.quoted, template.quoted)) {
+                return;
+            }
+            if (score(i) < score(victim)) {
+                victim = i;
+            }
+        }
+
+        Template evicted = slots.get(victim);
+        if (evicted != null && slots.compareAndSet(victim, evicted, template)) {
+            uses.set(victim, 0);
+            for (int i = set; i < set + WAYS; i++) {
+                if (i != victim) {
+                    uses.set(i, uses.get(i) >> 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Eviction priority of a slot: lowest first, and a shape that cannot take the fast path
+     * before a template with the same use count.
+     */
+    private int score(int slot) {
+        Template template = slots.get(slot);
+        return uses.get(slot) * 2 + (template != null && template.ast != null ? 1 : 0);
+    }
+
+    private int firstSlot(long hash) {
+        int sets = slots.length() / WAYS;
+        return ((int) (hash ^ (hash >>> 32)) & (sets - 1)) * WAYS;
+    }
+
+    /**
+     * Per-thread lexer state, reused across statements.
+     */
+    private static final class Scan implements SqlNormalizer.LiteralListener {
+        private final StringBuilder text = new StringBuilder(256);
+        private int[] starts = new int[16];
+        private int[] ends = new int[16];
+        private boolean[] quoted = new boolean[16];
+        private int literalCount;
+        private long hash;
+        private String sql;
+        private Template template;
+
+        /**
+         * Lex {@code sql} into this scan.
+         *
+         * @return true if the statement is a fast path candidate
+         */
+        boolean read(String sql) {
+            remember(null, null);
+            if (sql == null || sql.indexOf('?') >= 0 || sql.contains("--") || sql.contains("/*")
+                    || endsWithSemicolon(sql)) {
+                return false;
+            }
+
+            text.setLength(0);
+            literalCount = 0;
+            SqlNormalizer.normalize(sql, true, text, this);
+            if (!startsWithFastPathKeyword()) {
+                return false;
+            }
+
+            long h = FNV_OFFSET;
+            for (int i = 0; i < text.length(); i++) {
+                h = (h ^ text.charAt(i)) * FNV_PRIME;
+            }
+            for (int i = 0; i < literalCount; i++) {
+                h = (h ^ (quoted[i] ? 1 : 0)) * FNV_PRIME;
+            }
+            hash = h;
+            return true;
+        }
+
+        /**
+         * Record the template found for {@code sql}, for {@link #fingerprint}.
+         */
+        void remember(String sql, Template template) {
+            this.sql = sql;
+            this.template = template;
+        }
+
+        /**
+         * The fingerprint drops trailing semicolons but the parser rejects them, so such
+         * statements must not match a template learned without one.
+         */
+        private static boolean endsWithSemicolon(String sql) {
+            for (int i = sql.length() - 1; i >= 0; i--) {
+                char c = sql.charAt(i);
+                if (!Character.isWhitespace(c)) {
+                    return c == ';';
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public void onLiteral(int start, int end, boolean isQuoted) {
+            if (literalCount == starts.length) {
+                starts = Arrays.copyOf(starts, literalCount * 2);
+                ends = Arrays.copyOf(ends, literalCount * 2);
+                quoted = Arrays.copyOf(quoted, literalCount * 2);
+            }
+            starts[literalCount] = start;
+            ends[literalCount] = end;
+            quoted[literalCount] = isQuoted;
+            literalCount++;
+        }
+
+        SqlLiteral literal(String sql, int index, SqlParserPos pos) {
+            if (!quoted[index]) {
+                return SqlLiteral.createExactNumeric(sql.substring(starts[index], ends[index]), pos);
+            }
+            String value = sql.substring(starts[index] + 1, ends[index] - 1);
+            return SqlLiteral.createCharString(value.indexOf('\'') < 0 ? value : value.replace("''", "'"), pos);
+        }
+
+        private boolean startsWithFastPathKeyword() {
+            for (String keyword : FAST_PATH_KEYWORDS) {
+                if (text.length() > keyword.length() && regionMatches(keyword)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean regionMatches(String keyword) {
+            for (int i = 0; i < keyword.length(); i++) {
+                if (text.charAt(i) != keyword.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A parsed statement shape. A null AST marks a shape that must use the full parser.
+     */
+    private record Template(long hash, String text, boolean[] quoted, SqlNode ast) {
+
+        boolean matches(Scan scan) {
+            if (hash != scan.hash || quoted.length != scan.literalCount || !text.contentEquals(scan.text)) {
+                return false;
+            }
+            for (int i = 0; i < quoted.length; i++) {
+                if (quoted[i] != scan.quoted[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        SqlNode bind(String sql, Scan scan) {
+            return ast.accept(new LiteralBinder(sql, scan));
+        }
+    }
+
+    /**
+     * Copies a template AST, replacing each dynamic parameter with the matching literal.
+     * Calls, lists and identifiers are always copied so the cached template is never shared
+     * with a returned statement. UPDATE and DELETE are rebuilt through their own classes:
+     * their operators would otherwise recreate them as generic calls.
+     */
+    private static final class LiteralBinder extends SqlShuttle {
+        private final String sql;
+        private final Scan scan;
+
+        LiteralBinder(String sql, Scan scan) {
+            this.sql = sql;
+            this.scan = scan;
+        }
+
+        @Override
+        public SqlNode visit(SqlDynamicParam param) {
+            return scan.literal(sql, param.getIndex(), param.getParserPosition());
+        }
+
+        @Override
+        public SqlNode visit(SqlIdentifier id) {
+            return id.clone(id.getParserPosition());
+        }
+
+        @Override
+        public SqlNode visit(SqlCall call) {
+            if (call instanceof SqlUpdate update) {
+                return new SqlUpdate(update.getParserPosition(),
+                        copy(update.getTargetTable()),
+                        (SqlNodeList) copy(update.getTargetColumnList()),
+                        (SqlNodeList) copy(update.getSourceExpressionList()),
+                        copy(update.getCondition()),
+                        (SqlSelect) copy(update.getSourceSelect()),
+                        (SqlIdentifier) copy(update.getAlias()));
+            }
+            if (call instanceof SqlDelete delete) {
+                return new SqlDelete(delete.getParserPosition(),
+                        copy(delete.getTargetTable()),
+                        copy(delete.getCondition()),
+                        (SqlSelect) copy(delete.getSourceSelect()),
+                        (SqlIdentifier) copy(delete.getAlias()));
+            }
+            CallCopyingArgHandler argHandler = new CallCopyingArgHandler(call, true);
+            call.getOperator().acceptCall(this, call, false, argHandler);
+            return argHandler.result();
+        }
+
+        @Override
+        public SqlNode visit(SqlNodeList nodeList) {
+            // Shared immutable constants are compared by identity when unparsing (e.g. an empty ORDER BY)
+            if (nodeList == SqlNodeList.EMPTY || nodeList == SqlNodeList.SINGLETON_EMPTY
+                    || nodeList == SqlNodeList.SINGLETON_STAR) {
+                return nodeList;
+            }
+            SqlNodeList copy = new SqlNodeList(nodeList.getParserPosition());
+            for (SqlNode node : nodeList) {
+                copy.add(node != null ? node.accept(this) : null);
+            }
+            return copy;
+        }
+
+        private SqlNode copy(SqlNode node) {
+            return node != null ? node.accept(this) : null;
+        }
+    }
+}
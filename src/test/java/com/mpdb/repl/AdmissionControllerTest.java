@@ -0,0 +1,86 @@
+package com.mpdb.repl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AdmissionController Tests")
+class AdmissionControllerTest {
+
+    @Test
+    @DisplayName("Should track admitted statements until released")
+    void shouldTrackRunningStatements() {
+        AdmissionController controller = new AdmissionController(2, 100);
+
+        QueryContext first = controller.admit(0);
+        QueryContext second = controller.admit(0);
+        assertEquals(2, controller.getRunningCount());
+
+        controller.release(first);
+        controller.release(second);
+        assertEquals(0, controller.getRunningCount());
+    }
+
+    @Test
+    @DisplayName("Should reject statement when no slot frees up within the queue timeout")
+    void shouldRejectWhenFull() {
+        AdmissionController controller = new AdmissionController(1, 10);
+        controller.admit(0);
+
+        QueryCancelledException e = assertThrows(QueryCancelledException.class, () -> controller.admit(0));
+        assertTrue(e.getMessage().contains("not admitted"));
+    }
+
+    @Test
+    @DisplayName("Should admit queued statement once a slot is released")
+    void shouldAdmitAfterRelease() throws InterruptedException {
+        AdmissionController controller = new AdmissionController(1, 5000);
+        QueryContext running = controller.admit(0);
+
+        Thread releaser = new Thread(() -> {
+            sleep(50);
+            controller.release(running);
+        });
+        releaser.start();
+
+        QueryContext admitted = controller.admit(0);
+        releaser.join();
+        assertNotNull(admitted);
+        assertEquals(1, controller.getRunningCount());
+    }
+
+    @Test
+    @DisplayName("Should ignore double release")
+    void shouldIgnoreDoubleRelease() {
+        AdmissionController controller = new AdmissionController(1, 10);
+        QueryContext context = controller.admit(0);
+
+        controller.release(context);
+        controller.release(context);
+
+        controller.admit(0);
+        assertThrows(QueryCancelledException.class, () -> controller.admit(0));
+    }
+
+    @Test
+    @DisplayName("Should cancel all running statements")
+    void shouldCancelAllRunningStatements() {
+        AdmissionController controller = new AdmissionController(4, 10);
+        QueryContext first = controller.admit(0);
+        QueryContext second = controller.admit(0);
+
+        assertEquals(2, controller.cancelAll());
+        assertTrue(first.isCancelled());
+        assertTrue(second.isCancelled());
+        assertEquals(0, controller.cancelAll());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
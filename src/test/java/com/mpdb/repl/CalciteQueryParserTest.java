@@ -172,5 +172,16 @@ class CalciteQueryParserTest {
         assertEquals("N/A", result.getAstString());
         assertEquals("N/A", result.getSqlKind());
     }
-}
 
+    @Test
+    @DisplayName("Should parse CREATE MATERIALIZED VIEW over an aggregate join")
+    void shouldParseCreateMaterializedView() {
+        String sql = "CREATE MATERIALIZED VIEW order_totals AS " +
+                     "SELECT u.id, COUNT(*) AS cnt, SUM(o.amount) AS total " +
+                     "FROM users u JOIN orders o ON u.id = o.user_id GROUP BY u.id";
+        CalciteQueryParser.ParseResult result = parser.parseAndValidate(sql);
+
+        assertTrue(result.isValid(), "Query should be valid: " + result.errorMessage());
+        assertEquals("CREATE_MATERIALIZED_VIEW", result.getSqlKind());
+    }
+}
@@ -6,6 +6,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -17,10 +19,19 @@ class ColonCommandProcessorTest {
     @Mock
     private DbState dbState;
 
+    @Mock
+    private QueryResultCache resultCache;
+
+    @Mock
+    private QueryProfiler queryProfiler;
+
+    @Mock
+    private AdmissionController admissionController;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        processor = new ColonCommandProcessor(dbState);
+        processor = new ColonCommandProcessor(dbState, resultCache, queryProfiler, admissionController);
     }
 
     @Test
@@ -173,5 +184,150 @@ class ColonCommandProcessorTest {
         verify(dbState).setDebugAstMode(true);
         assertTrue(result.contains("enabled"));
     }
-}
 
+    @Test
+    @DisplayName("Should enable result cache with :result-cache on")
+    void shouldEnableResultCache() {
+        String result = processor.process(":result-cache on");
+
+        verify(dbState).setResultCacheEnabled(true);
+        assertTrue(result.contains("enabled"));
+    }
+
+    @Test
+    @DisplayName("Should disable and clear result cache with :result-cache off")
+    void shouldDisableAndClearResultCache() {
+        String result = processor.process(":result-cache off");
+
+        verify(dbState).setResultCacheEnabled(false);
+        verify(resultCache).clear();
+        assertTrue(result.contains("disabled"));
+    }
+
+    @Test
+    @DisplayName("Should return error for invalid :result-cache argument")
+    void shouldReturnErrorForInvalidResultCacheArgument() {
+        String result = processor.process(":result-cache maybe");
+
+        assertTrue(result.contains("Invalid argument"));
+        verify(dbState, never()).setResultCacheEnabled(anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Should report result cache hits in :status")
+    void shouldReportResultCacheHitsInStatus() {
+        when(dbState.isResultCacheEnabled()).thenReturn(true);
+        when(resultCache.getHits()).thenReturn(7L);
+        when(resultCache.getMisses()).thenReturn(3L);
+        when(resultCache.size()).thenReturn(2);
+
+        String result = processor.process(":status");
+
+        assertTrue(result.contains("Result cache: ON"));
+        assertTrue(result.contains("hits: 7"));
+        assertTrue(result.contains("misses: 3"));
+        assertTrue(result.contains("entries: 2"));
+    }
+
+    @Test
+    @DisplayName("Should report startup timings in :status")
+    void shouldReportStartupTimingsInStatus() {
+        when(dbState.getTimeToFirstPromptMs()).thenReturn(850L);
+        when(dbState.getTimeToFirstQueryMs()).thenReturn(null);
+
+        String result = processor.process(":status");
+
+        assertTrue(result.contains("Time to first prompt: 850 ms"));
+        assertTrue(result.contains("Time to first query: N/A"));
+    }
+
+    @Test
+    @DisplayName("Should list top queries by fingerprint")
+    void shouldListTopQueries() {
+        when(queryProfiler.topQueries(10)).thenReturn(List.of(
+                new QueryProfiler.TopQuery("SELECT * FROM USERS WHERE ID = ?", 4, 8_000_000L, 5_000_000L)));
+
+        String result = processor.process(":top-queries");
+
+        assertTrue(result.contains("Top Queries"));
+        assertTrue(result.contains("SELECT * FROM USERS WHERE ID = ?"));
+        assertTrue(result.contains("calls: 4"));
+        assertTrue(result.contains("avg: 2.000 ms"));
+    }
+
+    @Test
+    @DisplayName("Should pass limit argument to :top-queries")
+    void shouldPassLimitToTopQueries() {
+        when(queryProfiler.topQueries(3)).thenReturn(List.of());
+
+        String result = processor.process(":top-queries 3");
+
+        verify(queryProfiler).topQueries(3);
+        assertTrue(result.contains("No queries recorded"));
+    }
+
+    @Test
+    @DisplayName("Should reset query statistics with :top-queries reset")
+    void shouldResetTopQueries() {
+        String result = processor.process(":top-queries reset");
+
+        verify(queryProfiler).reset();
+        assertTrue(result.contains("reset"));
+    }
+
+    @Test
+    @DisplayName("Should return error for invalid :top-queries argument")
+    void shouldReturnErrorForInvalidTopQueriesArgument() {
+        assertTrue(processor.process(":top-queries abc").contains("Invalid argument"));
+        assertTrue(processor.process(":top-queries 0").contains("Invalid argument"));
+    }
+
+    @Test
+    @DisplayName("Should set statement timeout with :timeout <ms>")
+    void shouldSetStatementTimeout() {
+        String result = processor.process(":timeout 5000");
+
+        verify(dbState).setStatementTimeoutMs(5000);
+        assertTrue(result.contains("5000 ms"));
+    }
+
+    @Test
+    @DisplayName("Should disable statement timeout with :timeout off")
+    void shouldDisableStatementTimeout() {
+        String result = processor.process(":timeout off");
+
+        verify(dbState).setStatementTimeoutMs(0);
+        assertTrue(result.contains("disabled"));
+    }
+
+    @Test
+    @DisplayName("Should show current statement timeout when no argument provided")
+    void shouldShowCurrentStatementTimeout() {
+        when(dbState.getStatementTimeoutMs()).thenReturn(250L);
+
+        String result = processor.process(":timeout");
+
+        assertTrue(result.contains("250 ms"));
+        assertTrue(result.contains("Usage"));
+    }
+
+    @Test
+    @DisplayName("Should return error for invalid :timeout argument")
+    void shouldReturnErrorForInvalidTimeoutArgument() {
+        assertTrue(processor.process(":timeout soon").contains("Invalid argument"));
+        assertTrue(processor.process(":timeout -5").contains("Invalid argument"));
+        verify(dbState, never()).setStatementTimeoutMs(anyLong());
+    }
+
+    @Test
+    @DisplayName("Should report running statements in :status")
+    void shouldReportRunningStatementsInStatus() {
+        when(admissionController.getRunningCount()).thenReturn(3);
+        when(admissionController.getMaxConcurrentQueries()).thenReturn(16);
+        when(admissionController.getQueuedCount()).thenReturn(1);
+
+        String result = processor.process(":status");
+
+        assertTrue(result.contains("Running statements: 3/16 (queued: 1)"));
+    }
+}
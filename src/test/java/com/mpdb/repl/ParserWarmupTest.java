@@ -0,0 +1,58 @@
+package com.mpdb.repl;
+
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ParserWarmup Tests")
+class ParserWarmupTest {
+
+    private ParserWarmup warmup;
+
+    @Mock
+    private CalciteQueryParser queryParser;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        warmup = new ParserWarmup(queryParser);
+        ReflectionTestUtils.setField(warmup, "iterations", 2);
+    }
+
+    @Test
+    @DisplayName("Should parse every warm-up statement once per iteration")
+    void shouldParseWarmupStatements() throws SqlParseException {
+        when(queryParser.parseStatement(anyString())).thenThrow(new SqlParseException("error", null, null, null, null));
+
+        assertEquals(0, warmup.warmUp());
+
+        verify(queryParser, times(10)).parseStatement(anyString());
+        verify(queryParser, never()).parseAndValidate(anyString());
+    }
+
+    @Test
+    @DisplayName("Should not start warm-up when disabled")
+    void shouldNotStartWarmupWhenDisabled() {
+        ReflectionTestUtils.setField(warmup, "enabled", false);
+
+        warmup.onApplicationStarted();
+
+        verifyNoInteractions(queryParser);
+    }
+
+    @Test
+    @DisplayName("Should warm up with the real parser without errors")
+    void shouldWarmUpWithRealParser() {
+        ParserWarmup realWarmup = new ParserWarmup(new CalciteQueryParser());
+        ReflectionTestUtils.setField(realWarmup, "iterations", 2);
+
+        assertEquals(10, realWarmup.warmUp(), "Every warm-up statement should parse");
+    }
+}
@@ -0,0 +1,43 @@
+package com.mpdb.repl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("QueryContext Tests")
+class QueryContextTest {
+
+    @Test
+    @DisplayName("Should pass check when not cancelled and no timeout")
+    void shouldPassCheckWithoutTimeout() {
+        QueryContext context = new QueryContext(0);
+
+        assertDoesNotThrow(context::checkCancelled);
+        assertEquals(Long.MAX_VALUE, context.remainingMs());
+    }
+
+    @Test
+    @DisplayName("Should throw with reason after cancel")
+    void shouldThrowAfterCancel() {
+        QueryContext context = new QueryContext(0);
+
+        context.cancel("cancelled by user");
+
+        assertTrue(context.isCancelled());
+        QueryCancelledException e = assertThrows(QueryCancelledException.class, context::checkCancelled);
+        assertEquals("cancelled by user", e.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should throw after timeout elapses")
+    void shouldThrowAfterTimeout() throws InterruptedException {
+        QueryContext context = new QueryContext(1);
+
+        Thread.sleep(10);
+
+        QueryCancelledException e = assertThrows(QueryCancelledException.class, context::checkCancelled);
+        assertTrue(e.getMessage().contains("timeout"));
+        assertEquals(0, context.remainingMs());
+    }
+}
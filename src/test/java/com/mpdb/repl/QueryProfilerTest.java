@@ -0,0 +1,92 @@
+package com.mpdb.repl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("QueryProfiler Tests")
+class QueryProfilerTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    @DisplayName("Should aggregate statements by fingerprint")
+    void shouldAggregateByFingerprint() {
+        QueryProfiler profiler = new QueryProfiler(true, true, 1000, 0.0, 100);
+
+        record(profiler, "SELECT * FROM users WHERE id = 1", 1 * MS, 1 * MS, 0);
+        record(profiler, "select * from users where id = 2", 2 * MS, 4 * MS, 0);
+        record(profiler, "DELETE FROM users WHERE id = 3", 1 * MS, 0, 0);
+
+        List<QueryProfiler.TopQuery> top = profiler.topQueries(10);
+
+        assertEquals(2, top.size());
+        assertEquals("SELECT * FROM USERS WHERE ID = ?", top.get(0).fingerprint());
+        assertEquals(2, top.get(0).calls());
+        assertEquals(8.0, top.get(0).totalMillis(), 1e-9);
+        assertEquals(4.0, top.get(0).avgMillis(), 1e-9);
+        assertEquals(6.0, top.get(0).maxMillis(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should limit number of top queries returned")
+    void shouldLimitTopQueries() {
+        QueryProfiler profiler = new QueryProfiler(true, true, 1000, 0.0, 100);
+        record(profiler, "SELECT 1", 0, 3 * MS, 0);
+        record(profiler, "SELECT * FROM a", 0, 2 * MS, 0);
+        record(profiler, "SELECT * FROM b", 0, 1 * MS, 0);
+
+        assertEquals(1, profiler.topQueries(1).size());
+    }
+
+    @Test
+    @DisplayName("Should stop tracking new fingerprints at capacity")
+    void shouldStopTrackingAtCapacity() {
+        QueryProfiler profiler = new QueryProfiler(true, true, 1000, 0.0, 1);
+        record(profiler, "SELECT * FROM a", 0, MS, 0);
+        record(profiler, "SELECT * FROM b", 0, MS, 0);
+        record(profiler, "SELECT * FROM a", 0, MS, 0);
+
+        List<QueryProfiler.TopQuery> top = profiler.topQueries(10);
+        assertEquals(1, top.size());
+        assertEquals(2, top.get(0).calls());
+    }
+
+    @Test
+    @DisplayName("Should record nothing when disabled")
+    void shouldRecordNothingWhenDisabled() {
+        QueryProfiler profiler = new QueryProfiler(false, false, 1000, 1.0, 100);
+        record(profiler, "SELECT 1", 0, MS, 0);
+
+        assertFalse(profiler.isEnabled());
+        assertTrue(profiler.topQueries(10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should aggregate top queries when only the slow-query log is disabled")
+    void shouldAggregateWithSlowQueryLogDisabled() {
+        QueryProfiler profiler = new QueryProfiler(true, false, 1000, 1.0, 100);
+        record(profiler, "SELECT 1", 0, MS, 0);
+
+        assertTrue(profiler.isEnabled());
+        assertEquals(1, profiler.topQueries(10).size());
+    }
+
+    @Test
+    @DisplayName("Should clear statistics on reset")
+    void shouldClearOnReset() {
+        QueryProfiler profiler = new QueryProfiler(true, true, 0, 0.0, 100);
+        record(profiler, "SELECT 1", 0, MS, 0);
+
+        profiler.reset();
+
+        assertTrue(profiler.topQueries(10).isEmpty());
+    }
+
+    private static void record(QueryProfiler profiler, String sql, long parseNanos, long executeNanos, long rows) {
+        profiler.record(sql, SqlNormalizer.fingerprint(sql), null, parseNanos, executeNanos, rows);
+    }
+}
@@ -0,0 +1,120 @@
+package com.mpdb.repl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("QueryResultCache Tests")
+class QueryResultCacheTest {
+
+    private QueryResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new QueryResultCache(2);
+    }
+
+    @Test
+    @DisplayName("Should return cached result and count a hit")
+    void shouldReturnCachedResult() {
+        cache.put("SELECT * FROM T", cache.currentVersions(Set.of("T")), "rows");
+
+        assertEquals("rows", cache.get("SELECT * FROM T"));
+        assertEquals(1, cache.getHits());
+        assertEquals(0, cache.getMisses());
+    }
+
+    @Test
+    @DisplayName("Should count a miss for unknown key")
+    void shouldCountMissForUnknownKey() {
+        assertNull(cache.get("SELECT 1"));
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    @DisplayName("Should invalidate entries when a table they read is written")
+    void shouldInvalidateOnWrite() {
+        cache.put("SELECT * FROM T", cache.currentVersions(Set.of("T")), "rows");
+
+        cache.invalidate(Set.of("T"));
+
+        assertNull(cache.get("SELECT * FROM T"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should keep entries when an unrelated table is written")
+    void shouldKeepEntriesOnUnrelatedWrite() {
+        cache.put("SELECT * FROM T", cache.currentVersions(Set.of("T")), "rows");
+
+        cache.invalidate(Set.of("OTHER"));
+
+        assertEquals("rows", cache.get("SELECT * FROM T"));
+    }
+
+    @Test
+    @DisplayName("Should not cache a result computed before a concurrent write")
+    void shouldNotCacheStaleResult() {
+        Map<String, Long> versions = cache.currentVersions(Set.of("T"));
+        cache.invalidate(Set.of("T"));
+
+        cache.put("SELECT * FROM T", versions, "rows");
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Should invalidate results read through a view when its base table is written")
+    void shouldInvalidateViewsOnBaseTableWrite() {
+        cache.registerView("V", Set.of("T"));
+        cache.registerView("W", Set.of("V"));
+        cache.put("SELECT * FROM W", cache.currentVersions(Set.of("W")), "rows");
+
+        cache.invalidate(Set.of("T"));
+
+        assertNull(cache.get("SELECT * FROM W"));
+    }
+
+    @Test
+    @DisplayName("Should not cache results read through a view with unknown base tables")
+    void shouldNotCacheUnresolvedViews() {
+        cache.registerView("V", null);
+
+        assertNull(cache.currentVersions(Set.of("T", "V")));
+
+        cache.unregisterView("V");
+
+        assertEquals(Map.of("V", 0L), cache.currentVersions(Set.of("V")));
+    }
+
+    @Test
+    @DisplayName("Should evict least recently used entry when full")
+    void shouldEvictLeastRecentlyUsed() {
+        cache.put("A", Map.of(), "a");
+        cache.put("B", Map.of(), "b");
+        cache.get("A");
+
+        cache.put("C", Map.of(), "c");
+
+        assertEquals(2, cache.size());
+        assertEquals("a", cache.get("A"));
+        assertNull(cache.get("B"));
+    }
+
+    @Test
+    @DisplayName("Should clear entries and counters")
+    void shouldClearEntriesAndCounters() {
+        cache.put("A", Map.of(), "a");
+        cache.get("A");
+
+        cache.clear();
+
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHits());
+    }
+}
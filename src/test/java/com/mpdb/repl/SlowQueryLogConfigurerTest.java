@@ -0,0 +1,48 @@
+package com.mpdb.repl;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SlowQueryLogConfigurer Tests")
+class SlowQueryLogConfigurerTest {
+
+    @TempDir
+    Path logDir;
+
+    @Test
+    @DisplayName("Should write slow-query entries to the log file")
+    void shouldWriteEntriesToFile() throws IOException {
+        Path file = logDir.resolve("slow-query.log");
+        LoggerContext context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+
+        SlowQueryLogConfigurer.attach(context, file.toString());
+        context.getLogger(QueryProfiler.SLOW_QUERY_LOGGER).info("SLOW total_ms=1200.000");
+        context.stop();
+
+        assertTrue(Files.readString(file).contains("SLOW total_ms=1200.000"));
+    }
+
+    @Test
+    @DisplayName("Should not create the log file when disabled")
+    void shouldNotCreateFileWhenDisabled() {
+        Path file = logDir.resolve("slow-query.log");
+        SlowQueryLogConfigurer configurer = new SlowQueryLogConfigurer();
+        ReflectionTestUtils.setField(configurer, "enabled", false);
+        ReflectionTestUtils.setField(configurer, "file", file.toString());
+
+        configurer.onApplicationStarted();
+
+        assertFalse(Files.exists(file));
+    }
+}
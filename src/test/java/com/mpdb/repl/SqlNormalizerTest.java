@@ -0,0 +1,67 @@
+package com.mpdb.repl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SqlNormalizer Tests")
+class SqlNormalizerTest {
+
+    @Test
+    @DisplayName("Should collapse whitespace and upper-case keywords")
+    void shouldCollapseWhitespaceAndUpperCase() {
+        assertEquals("SELECT * FROM USERS WHERE ID = 1",
+                SqlNormalizer.normalize("  select *\n  from users\twhere id = 1 "));
+    }
+
+    @Test
+    @DisplayName("Should preserve quoted literals and identifiers")
+    void shouldPreserveQuotedText() {
+        assertEquals("SELECT \"Name\" FROM USERS WHERE CITY = 'New  York'",
+                SqlNormalizer.normalize("select \"Name\" from users where city = 'New  York'"));
+    }
+
+    @Test
+    @DisplayName("Should drop trailing semicolon")
+    void shouldDropTrailingSemicolon() {
+        assertEquals("SELECT 1", SqlNormalizer.normalize("SELECT 1 ;"));
+    }
+
+    @Test
+    @DisplayName("Should return empty string for null")
+    void shouldReturnEmptyForNull() {
+        assertEquals("", SqlNormalizer.normalize(null));
+    }
+
+    @Test
+    @DisplayName("Should replace literals with placeholders in fingerprint")
+    void shouldReplaceLiteralsInFingerprint() {
+        assertEquals("SELECT * FROM T1 WHERE ID = ? AND NAME = ? AND SCORE > ?",
+                SqlNormalizer.fingerprint("select * from t1 where id = 42 and name = 'it''s' and score > 3.5"));
+    }
+
+    @Test
+    @DisplayName("Should drop comments without joining the lines around them")
+    void shouldDropComments() {
+        assertEquals("SELECT * FROM T WHERE ID = 1",
+                SqlNormalizer.normalize("SELECT * FROM t -- c\nWHERE id = 1"));
+        assertEquals("SELECT * FROM T", SqlNormalizer.normalize("SELECT * FROM t -- c WHERE id = 1"));
+        assertEquals("SELECT * FROM T WHERE ID = 1",
+                SqlNormalizer.normalize("SELECT * /* all */ FROM t WHERE/**/id = 1"));
+    }
+
+    @Test
+    @DisplayName("Should keep comment markers inside quoted literals")
+    void shouldKeepCommentMarkersInsideLiterals() {
+        assertEquals("SELECT * FROM T WHERE NAME = 'a -- b'",
+                SqlNormalizer.normalize("select * from t where name = 'a -- b'"));
+    }
+
+    @Test
+    @DisplayName("Should give statements differing only in literals the same fingerprint")
+    void shouldShareFingerprintAcrossLiterals() {
+        assertEquals(SqlNormalizer.fingerprint("SELECT * FROM users WHERE id = 1"),
+                SqlNormalizer.fingerprint("select *  from users where id = 987;"));
+    }
+}
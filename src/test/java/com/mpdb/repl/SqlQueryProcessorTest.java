@@ -6,6 +6,9 @@ import org.junit.jupiter.api.DisplayName;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import java.util.Map;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -20,10 +23,20 @@ class SqlQueryProcessorTest {
     @Mock
     private DbState dbState;
 
+    @Mock
+    private QueryResultCache resultCache;
+
+    @Mock
+    private QueryProfiler queryProfiler;
+
+    @Mock
+    private AdmissionController admissionController;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        processor = new SqlQueryProcessor(queryParser, dbState);
+        processor = new SqlQueryProcessor(queryParser, dbState, resultCache, queryProfiler, admissionController);
+        when(admissionController.admit(anyLong())).thenAnswer(invocation -> new QueryContext(invocation.getArgument(0)));
     }
 
     @Test
@@ -83,5 +96,195 @@ class SqlQueryProcessorTest {
         verify(validResult, never()).getSqlKind();
         verify(validResult, never()).getAstString();
     }
-}
 
+    @Test
+    @DisplayName("Should serve SELECT from result cache keyed by the parsed statement when cache is on")
+    void shouldServeSelectFromResultCache() {
+        String sql = "select *  from users -- all users";
+        CalciteQueryParser.ParseResult parsed = new CalciteQueryParser().parseAndValidate(sql);
+        when(queryParser.parseAndValidate(sql)).thenReturn(parsed);
+        when(dbState.isResultCacheEnabled()).thenReturn(true);
+        when(dbState.isDebugAstMode()).thenReturn(true);
+        when(resultCache.get(parsed.ast().toString())).thenReturn("cached");
+
+        String result = processor.process(sql);
+
+        assertEquals("cached", result);
+        verify(dbState).isDebugAstMode();
+        verify(resultCache, never()).put(anyString(), any(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should not look up the result cache for statements that fail to parse")
+    void shouldNotLookUpResultCacheForInvalidSql() {
+        String sql = "SELECT * FROM users;";
+        when(queryParser.parseAndValidate(sql)).thenReturn(new CalciteQueryParser().parseAndValidate(sql));
+        when(dbState.isResultCacheEnabled()).thenReturn(true);
+
+        String result = processor.process(sql);
+
+        assertTrue(result.contains("❌ SQL Parse Error"));
+        verify(resultCache, never()).get(anyString());
+    }
+
+    @Test
+    @DisplayName("Should cache SELECT result tagged with the tables it read")
+    void shouldCacheSelectResultOnMiss() {
+        CalciteQueryParser realParser = new CalciteQueryParser();
+        String sql = "SELECT * FROM users";
+        CalciteQueryParser.ParseResult parsed = realParser.parseAndValidate(sql);
+        when(queryParser.parseAndValidate(sql)).thenReturn(parsed);
+        when(dbState.isResultCacheEnabled()).thenReturn(true);
+        Map<String, Long> versions = Map.of("USERS", 0L);
+        when(resultCache.currentVersions(Set.of("USERS"))).thenReturn(versions);
+
+        String result = processor.process(sql);
+
+        verify(resultCache).put(parsed.ast().toString(), versions, result);
+    }
+
+    @Test
+    @DisplayName("Should invalidate cached results of tables written by DML")
+    void shouldInvalidateTablesOnWrite() {
+        CalciteQueryParser realParser = new CalciteQueryParser();
+        String sql = "UPDATE users SET name = 'x' WHERE id = 1";
+        when(queryParser.parseAndValidate(sql)).thenReturn(realParser.parseAndValidate(sql));
+
+        processor.process(sql);
+
+        verify(resultCache, times(2)).invalidate(Set.of("USERS"));
+        verify(resultCache, never()).put(anyString(), any(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should not cache SELECT results when a FROM item is not a table")
+    void shouldNotCacheUnresolvedReads() {
+        CalciteQueryParser realParser = new CalciteQueryParser();
+        String sql = "SELECT * FROM UNNEST(ARRAY[1, 2])";
+        when(queryParser.parseAndValidate(sql)).thenReturn(realParser.parseAndValidate(sql));
+        when(dbState.isResultCacheEnabled()).thenReturn(true);
+
+        processor.process(sql);
+
+        verify(resultCache, never()).currentVersions(any());
+        verify(resultCache, never()).put(anyString(), any(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should invalidate cached results when a write is parsed through a template")
+    void shouldInvalidateOnTemplateParsedWrite() {
+        QueryResultCache realCache = new QueryResultCache(16);
+        SqlQueryProcessor realProcessor = new SqlQueryProcessor(new CalciteQueryParser(), dbState,
+                realCache, queryProfiler, admissionController);
+        when(dbState.isResultCacheEnabled()).thenReturn(true);
+        when(dbState.isDebugAstMode()).thenReturn(true);
+
+        realProcessor.process("UPDATE users SET name = 'a' WHERE id = 1");
+        realProcessor.process("SELECT * FROM users");
+        realProcessor.process("SELECT * FROM users");
+        String update = realProcessor.process("UPDATE users SET name = 'c' WHERE id = 3");
+        realProcessor.process("SELECT * FROM users");
+
+        assertFalse(update.contains("❌"), update);
+        assertEquals(1, realCache.getHits());
+        assertEquals(2, realCache.getMisses(), "SELECT after the templated UPDATE should miss");
+    }
+
+    @Test
+    @DisplayName("Should invalidate cached results over a view when its base table is written")
+    void shouldInvalidateViewOnBaseTableWrite() {
+        QueryResultCache realCache = new QueryResultCache(16);
+        SqlQueryProcessor realProcessor = new SqlQueryProcessor(new CalciteQueryParser(), dbState,
+                realCache, queryProfiler, admissionController);
+        when(dbState.isResultCacheEnabled()).thenReturn(true);
+
+        realProcessor.process("CREATE VIEW active_users AS SELECT * FROM users WHERE active");
+        realProcessor.process("SELECT * FROM active_users");
+        realProcessor.process("SELECT * FROM active_users");
+        realProcessor.process("INSERT INTO users (id, active) VALUES (1, TRUE)");
+        realProcessor.process("SELECT * FROM active_users");
+
+        assertEquals(1, realCache.getHits());
+        assertEquals(2, realCache.getMisses(), "SELECT over the view after the INSERT should miss");
+    }
+
+    @Test
+    @DisplayName("Should report parsed statement to the query profiler")
+    void shouldRecordStatementInProfiler() {
+        CalciteQueryParser realParser = new CalciteQueryParser();
+        String sql = "SELECT * FROM users WHERE id = 1";
+        CalciteQueryParser.ParseResult parsed = realParser.parseAndValidate(sql);
+        when(queryParser.parseAndValidate(sql)).thenReturn(parsed);
+        when(queryParser.fingerprint(sql)).thenReturn("SELECT * FROM USERS WHERE ID = ?");
+        when(queryProfiler.isEnabled()).thenReturn(true);
+
+        processor.process(sql);
+
+        verify(queryProfiler).record(eq(sql), eq("SELECT * FROM USERS WHERE ID = ?"), eq(parsed.ast()),
+                anyLong(), anyLong(), eq(0L));
+    }
+
+    @Test
+    @DisplayName("Should not fingerprint statements when the profiler is disabled")
+    void shouldNotFingerprintWhenProfilerDisabled() {
+        String sql = "SELECT * FROM users WHERE id = 1";
+        when(queryParser.parseAndValidate(sql)).thenReturn(new CalciteQueryParser().parseAndValidate(sql));
+
+        processor.process(sql);
+
+        verify(queryParser, never()).fingerprint(anyString());
+        verify(queryProfiler, never()).record(anyString(), any(), any(), anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should not report statements that fail to parse")
+    void shouldNotRecordInvalidStatement() {
+        String sql = "SELECT * FORM users";
+        when(queryParser.parseAndValidate(sql))
+                .thenReturn(new CalciteQueryParser.ParseResult(false, null, "error", sql));
+
+        processor.process(sql);
+
+        verifyNoInteractions(queryProfiler);
+    }
+
+    @Test
+    @DisplayName("Should admit and release every statement with the session timeout")
+    void shouldAdmitAndReleaseStatement() {
+        String sql = "SELECT * FROM users";
+        when(queryParser.parseAndValidate(sql)).thenReturn(new CalciteQueryParser().parseAndValidate(sql));
+        when(dbState.getStatementTimeoutMs()).thenReturn(500L);
+
+        processor.process(sql);
+
+        verify(admissionController).admit(500L);
+        verify(admissionController).release(any(QueryContext.class));
+    }
+
+    @Test
+    @DisplayName("Should return rejection message when statement is not admitted")
+    void shouldReturnRejectionWhenNotAdmitted() {
+        when(admissionController.admit(anyLong())).thenThrow(new QueryCancelledException("16 statements already running"));
+
+        String result = processor.process("SELECT * FROM users");
+
+        assertTrue(result.contains("❌ Query rejected"));
+        verify(queryParser, never()).parseAndValidate(anyString());
+    }
+
+    @Test
+    @DisplayName("Should stop a cancelled statement and release its slot")
+    void shouldStopCancelledStatement() {
+        String sql = "SELECT * FROM users";
+        QueryContext context = new QueryContext(0);
+        context.cancel("cancelled by user");
+        when(admissionController.admit(anyLong())).thenReturn(context);
+        when(queryParser.parseAndValidate(sql)).thenReturn(new CalciteQueryParser().parseAndValidate(sql));
+
+        String result = processor.process(sql);
+
+        assertTrue(result.contains("❌ Query cancelled: cancelled by user"));
+        verify(admissionController).release(context);
+        verify(queryProfiler, never()).record(anyString(), any(), any(), anyLong(), anyLong(), anyLong());
+    }
+}
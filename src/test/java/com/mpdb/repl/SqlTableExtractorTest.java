@@ -0,0 +1,119 @@
+package com.mpdb.repl;
+
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SqlTableExtractor Tests")
+class SqlTableExtractorTest {
+
+    private CalciteQueryParser parser;
+
+    @BeforeEach
+    void setUp() {
+        parser = new CalciteQueryParser();
+    }
+
+    @Test
+    @DisplayName("Should extract table from simple SELECT")
+    void shouldExtractTableFromSelect() throws SqlParseException {
+        SqlNode ast = parser.parse("SELECT name FROM users WHERE id = 1");
+
+        assertEquals(Set.of("USERS"), SqlTableExtractor.readTables(ast));
+    }
+
+    @Test
+    @DisplayName("Should extract tables from joins and subqueries")
+    void shouldExtractTablesFromJoinsAndSubqueries() throws SqlParseException {
+        SqlNode ast = parser.parse(
+                "SELECT u.name FROM users u JOIN orders o ON u.id = o.user_id " +
+                "WHERE o.id IN (SELECT order_id FROM payments) ORDER BY u.name");
+
+        assertEquals(Set.of("USERS", "ORDERS", "PAYMENTS"), SqlTableExtractor.readTables(ast));
+    }
+
+    @Test
+    @DisplayName("Should extract tables from subqueries in ORDER BY")
+    void shouldExtractTablesFromOrderBy() throws SqlParseException {
+        SqlNode ast = parser.parse(
+                "SELECT name FROM users ORDER BY (SELECT MAX(total) FROM orders) LIMIT 10");
+
+        assertEquals(Set.of("USERS", "ORDERS"), SqlTableExtractor.readTables(ast));
+    }
+
+    @Test
+    @DisplayName("Should extract tables from explicit TABLE statements")
+    void shouldExtractExplicitTables() throws SqlParseException {
+        assertEquals(Set.of("USERS"), SqlTableExtractor.readTables(parser.parse("TABLE users")));
+        assertEquals(Set.of("USERS"), SqlTableExtractor.readTables(parser.parse("SELECT * FROM (TABLE users)")));
+    }
+
+    @Test
+    @DisplayName("Should extract tables with hints, samples and snapshots")
+    void shouldExtractDecoratedTables() throws SqlParseException {
+        assertEquals(Set.of("USERS"),
+                SqlTableExtractor.readTables(parser.parse("SELECT * FROM users /*+ idx(a) */")));
+        assertEquals(Set.of("USERS"),
+                SqlTableExtractor.readTables(parser.parse("SELECT * FROM users TABLESAMPLE BERNOULLI(10)")));
+        assertEquals(Set.of("USERS"), SqlTableExtractor.readTables(parser.parse(
+                "SELECT * FROM users FOR SYSTEM_TIME AS OF TIMESTAMP '2024-01-01 00:00:00'")));
+    }
+
+    @Test
+    @DisplayName("Should report unknown read tables when a FROM item is not a table or query")
+    void shouldReportUnresolvedFromItems() throws SqlParseException {
+        assertNull(SqlTableExtractor.readTables(parser.parse("SELECT * FROM UNNEST(ARRAY[1, 2])")));
+        assertNull(SqlTableExtractor.readTables(parser.parse(
+                "SELECT * FROM users WHERE id IN (SELECT * FROM TABLE(ramp(3)))")));
+    }
+
+    @Test
+    @DisplayName("Should extract target tables of DML")
+    void shouldExtractWrittenTables() throws SqlParseException {
+        assertEquals(Set.of("USERS"),
+                SqlTableExtractor.writtenTables(parser.parse("INSERT INTO users (id) VALUES (1)")));
+        assertEquals(Set.of("USERS"),
+                SqlTableExtractor.writtenTables(parser.parse("UPDATE users SET name = 'x'")));
+        assertEquals(Set.of("USERS"),
+                SqlTableExtractor.writtenTables(parser.parse("DELETE FROM users WHERE id = 1")));
+    }
+
+    @Test
+    @DisplayName("Should extract table of CREATE TABLE and DROP TABLE")
+    void shouldExtractDdlTables() throws SqlParseException {
+        assertEquals(Set.of("USERS"),
+                SqlTableExtractor.writtenTables(parser.parse("CREATE TABLE users (id INT)")));
+        assertEquals(Set.of("USERS"),
+                SqlTableExtractor.writtenTables(parser.parse("DROP TABLE users")));
+    }
+
+    @Test
+    @DisplayName("Should treat TRUNCATE and CREATE TABLE LIKE as writes")
+    void shouldExtractTruncateAndCreateTableLike() throws SqlParseException {
+        assertEquals(Set.of("USERS"),
+                SqlTableExtractor.writtenTables(parser.parse("TRUNCATE TABLE users")));
+        assertEquals(Set.of("USERS_COPY"),
+                SqlTableExtractor.writtenTables(parser.parse("CREATE TABLE users_copy LIKE users")));
+    }
+
+    @Test
+    @DisplayName("Should treat CREATE MATERIALIZED VIEW as a write to the view")
+    void shouldExtractMaterializedViewName() throws SqlParseException {
+        SqlNode ast = parser.parse(
+                "CREATE MATERIALIZED VIEW daily_counts AS SELECT event_date, COUNT(*) AS cnt FROM events GROUP BY event_date");
+
+        assertEquals(Set.of("DAILY_COUNTS"), SqlTableExtractor.writtenTables(ast));
+    }
+
+    @Test
+    @DisplayName("Should report no written tables for SELECT")
+    void shouldReportNoWrittenTablesForSelect() throws SqlParseException {
+        assertTrue(SqlTableExtractor.writtenTables(parser.parse("SELECT * FROM users")).isEmpty());
+    }
+}
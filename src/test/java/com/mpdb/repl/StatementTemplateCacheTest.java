@@ -0,0 +1,202 @@
+package com.mpdb.repl;
+
+import org.apache.calcite.sql.SqlDelete;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlUpdate;
+import org.apache.calcite.sql.parser.SqlParseException;
+import org.apache.calcite.util.Litmus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("StatementTemplateCache Tests")
+class StatementTemplateCacheTest {
+
+    private CalciteQueryParser parser;
+    private StatementTemplateCache cache;
+
+    @BeforeEach
+    void setUp() {
+        parser = new CalciteQueryParser();
+        cache = new StatementTemplateCache(16, parser::parseStatement);
+    }
+
+    @Test
+    @DisplayName("Should serve repeated point lookups from the template")
+    void shouldServeRepeatedPointLookupsFromTemplate() throws SqlParseException {
+        cache.parse("SELECT name FROM users WHERE id = 1");
+        String sql = "select name from users where id = 42";
+        SqlNode node = cache.parse(sql);
+
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.size());
+        assertSameTree(parser.parseStatement(sql), node);
+    }
+
+    @Test
+    @DisplayName("Should bind string literals with escaped quotes")
+    void shouldBindStringLiterals() throws SqlParseException {
+        cache.parse("INSERT INTO users (id, name) VALUES (1, 'Ann')");
+        String sql = "INSERT INTO users (id, name) VALUES (2, 'O''Brien')";
+        SqlNode node = cache.parse(sql);
+
+        assertEquals(1, cache.getHits());
+        assertSameTree(parser.parseStatement(sql), node);
+    }
+
+    @Test
+    @DisplayName("Should serve UPDATE and DELETE by key from the template")
+    void shouldServeUpdateAndDelete() throws SqlParseException {
+        cache.parse("UPDATE stock SET qty = qty - 1 WHERE id = 7");
+        cache.parse("DELETE FROM new_order WHERE o_id = 3 AND d_id = 1");
+        String update = "UPDATE stock SET qty = qty - 5 WHERE id = 9";
+        String delete = "DELETE FROM new_order WHERE o_id = 12 AND d_id = 4";
+
+        SqlNode updateNode = cache.parse(update);
+        SqlNode deleteNode = cache.parse(delete);
+
+        assertEquals(2, cache.getHits());
+        assertInstanceOf(SqlUpdate.class, updateNode);
+        assertInstanceOf(SqlDelete.class, deleteNode);
+        assertSameTree(parser.parseStatement(update), updateNode);
+        assertSameTree(parser.parseStatement(delete), deleteNode);
+        assertEquals(Set.of("STOCK"), SqlTableExtractor.writtenTables(updateNode));
+        assertEquals(Set.of("NEW_ORDER"), SqlTableExtractor.writtenTables(deleteNode));
+    }
+
+    @Test
+    @DisplayName("Should unparse OFFSET/FETCH without ORDER BY like the full parser")
+    void shouldKeepOffsetFetchUnparse() throws SqlParseException {
+        cache.parse("SELECT * FROM t OFFSET 5 ROWS FETCH NEXT 10 ROWS ONLY");
+        String sql = "SELECT * FROM t OFFSET 6 ROWS FETCH NEXT 11 ROWS ONLY";
+
+        assertSameTree(parser.parseStatement(sql), cache.parse(sql));
+    }
+
+    @Test
+    @DisplayName("Should reject trailing semicolons like the full parser")
+    void shouldRejectTrailingSemicolons() throws SqlParseException {
+        cache.parse("SELECT * FROM t WHERE id = 1");
+
+        assertThrows(SqlParseException.class, () -> cache.parse("SELECT * FROM t WHERE id = 2;"));
+        assertThrows(SqlParseException.class, () -> cache.parse("SELECT * FROM t WHERE id = 2;; "));
+    }
+
+    @Test
+    @DisplayName("Should reuse the template text as the fingerprint of a parsed statement")
+    void shouldReuseTemplateTextAsFingerprint() throws SqlParseException {
+        String first = "SELECT name FROM users WHERE id = 1";
+        String second = "SELECT name FROM users WHERE id = 2";
+        cache.parse(first);
+        String firstFingerprint = cache.fingerprint(first);
+        cache.parse(second);
+
+        assertEquals(SqlNormalizer.fingerprint(second), cache.fingerprint(second));
+        assertSame(firstFingerprint, cache.fingerprint(second));
+    }
+
+    @Test
+    @DisplayName("Should treat string and numeric literals as different shapes")
+    void shouldSeparateLiteralKinds() throws SqlParseException {
+        cache.parse("SELECT * FROM t WHERE c = 1");
+        String sql = "SELECT * FROM t WHERE c = 'x'";
+        SqlNode node = cache.parse(sql);
+
+        assertEquals(0, cache.getHits());
+        assertEquals(2, cache.size());
+        assertSameTree(parser.parseStatement(sql), node);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the full parser when a literal cannot be a parameter")
+    void shouldFallBackForTypedLiterals() throws SqlParseException {
+        cache.parse("SELECT * FROM orders WHERE o_date < DATE '1995-03-01'");
+        String sql = "SELECT * FROM orders WHERE o_date < DATE '1995-03-15'";
+        SqlNode node = cache.parse(sql);
+
+        assertEquals(0, cache.getHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(1, cache.size(), "Unsupported shape should be remembered");
+        assertSameTree(parser.parseStatement(sql), node);
+    }
+
+    @Test
+    @DisplayName("Should give a new hot shape a template when the table is full of cold shapes")
+    void shouldReplaceColdShapesWhenFull() throws SqlParseException {
+        for (int i = 0; i < 32; i++) {
+            cache.parse("SELECT c" + i + " FROM junk WHERE id = 1");
+            cache.parse("SELECT * FROM junk WHERE c" + i + " < DATE '1995-03-01'");
+        }
+        assertEquals(16, cache.size());
+
+        cache.parse("SELECT name FROM users WHERE id = 1");
+        String sql = "SELECT name FROM users WHERE id = 2";
+        SqlNode node = cache.parse(sql);
+
+        assertEquals(1, cache.getHits());
+        assertEquals(16, cache.size());
+        assertSameTree(parser.parseStatement(sql), node);
+    }
+
+    @Test
+    @DisplayName("Should keep a hot shape while cold shapes churn through the table")
+    void shouldKeepHotShapeUnderChurn() throws SqlParseException {
+        cache.parse("SELECT name FROM users WHERE id = 0");
+        for (int i = 1; i <= 64; i++) {
+            cache.parse("SELECT c" + i + " FROM junk WHERE id = 1");
+            cache.parse("SELECT name FROM users WHERE id = " + i);
+        }
+
+        assertEquals(64, cache.getHits());
+    }
+
+    @Test
+    @DisplayName("Should not cache DDL statements")
+    void shouldNotCacheDdl() throws SqlParseException {
+        cache.parse("CREATE TABLE t (id INT, name VARCHAR(10))");
+        cache.parse("CREATE TABLE t (id INT, name VARCHAR(10))");
+
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    @DisplayName("Should return a fresh tree for every hit")
+    void shouldReturnFreshTreeForEveryHit() throws SqlParseException {
+        cache.parse("SELECT name FROM users WHERE id = 1");
+        SqlNode first = cache.parse("SELECT name FROM users WHERE id = 2");
+        SqlNode second = cache.parse("SELECT name FROM users WHERE id = 2");
+
+        assertNotSame(first, second);
+        assertSameTree(first, second);
+    }
+
+    @Test
+    @DisplayName("Should still report syntax errors")
+    void shouldReportSyntaxErrors() throws SqlParseException {
+        cache.parse("SELECT name FROM users WHERE id = 1");
+
+        assertThrows(SqlParseException.class, () -> cache.parse("SELECT name FROM WHERE id = 1"));
+    }
+
+    @Test
+    @DisplayName("Should bypass the template cache when disabled")
+    void shouldBypassWhenDisabled() throws SqlParseException {
+        StatementTemplateCache disabled = new StatementTemplateCache(0, parser::parseStatement);
+        disabled.parse("SELECT name FROM users WHERE id = 1");
+        disabled.parse("SELECT name FROM users WHERE id = 2");
+
+        assertEquals(0, disabled.size());
+        assertEquals(0, disabled.getHits());
+    }
+
+    private static void assertSameTree(SqlNode expected, SqlNode actual) {
+        assertTrue(expected.equalsDeep(actual, Litmus.IGNORE), () -> "Expected " + expected + " but was " + actual);
+        assertEquals(expected.toString(), actual.toString());
+    }
+}